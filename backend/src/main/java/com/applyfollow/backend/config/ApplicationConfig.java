@@ -1,13 +1,17 @@
 package com.applyfollow.backend.config;
 
 import com.applyfollow.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -15,10 +19,20 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
+@Slf4j
 public class ApplicationConfig {
 
     private final UserRepository repository;
 
+    @Value("${application.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${application.security.password.hashing.threads:2}")
+    private int hashingThreads;
+
+    @Value("${application.security.password.hashing.queue-capacity:32}")
+    private int hashingQueueCapacity;
+
     /**
      * Kullanıcı detaylarını veritabanından çeken servis.
      */
@@ -28,15 +42,35 @@ public class ApplicationConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
     }
 
+    /**
+     * Başarılı login sonrası eski cost factor ile hashlenmiş şifreleri
+     * güncel strength ile yeniden kaydeder (DaoAuthenticationProvider çağırır).
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService(PrincipalCache principalCache) {
+        return (userDetails, newPassword) -> {
+            var user = repository.findByEmail(userDetails.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                            "User not found with email: " + userDetails.getUsername()));
+            user.setPasswordHash(newPassword);
+            repository.save(user);
+            principalCache.evict(user.getEmail());
+            log.info("Upgraded password hash strength for user {}", user.getId());
+            return user;
+        };
+    }
+
     /**
      * Authentication logic'ini yöneten Provider.
      * UserDetailsService ve PasswordEncoder'ı birleştirir.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder,
+            UserDetailsPasswordService userDetailsPasswordService) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -50,9 +84,11 @@ public class ApplicationConfig {
 
     /**
      * Şifreleri güvenli bir şekilde hashlemek için BCrypt algoritması kullanılır.
+     * Hash işlemleri request thread'lerinde değil, sınırlı ayrı bir havuzda çalışır.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), hashingThreads,
+                hashingQueueCapacity, meterRegistry);
     }
 }
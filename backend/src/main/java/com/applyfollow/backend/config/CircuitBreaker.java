@@ -0,0 +1,71 @@
+package com.applyfollow.backend.config;
+
+/**
+ * Basit, thread-safe circuit breaker.
+ * CLOSED: art arda failureThreshold hata olursa OPEN'a geçer.
+ * OPEN: openDurationMillis boyunca tüm çağrılar reddedilir.
+ * HALF_OPEN: tek bir deneme çağrısına izin verilir; başarılıysa CLOSED, değilse tekrar OPEN.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    public synchronized boolean tryAcquire(long nowMillis) {
+        if (state == State.OPEN && nowMillis - openedAt >= openDurationMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure(long nowMillis) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nowMillis;
+            trialInFlight = false;
+        }
+    }
+
+    /** OPEN durumda kalan süre (ms); diğer durumlarda 0. */
+    public synchronized long remainingOpenMillis(long nowMillis) {
+        return state == State.OPEN ? Math.max(0, openDurationMillis - (nowMillis - openedAt)) : 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
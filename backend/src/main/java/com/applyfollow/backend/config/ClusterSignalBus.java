@@ -0,0 +1,221 @@
+package com.applyfollow.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Instance'lar arası hafif sinyal kanalı (Postgres LISTEN/NOTIFY).
+ * Yeni alarm ve önbellek geçersizleştirme gibi küçük mesajları tüm instance'lara yayar.
+ *
+ * Yayın, çağıranın transaction'ına katılır: Postgres NOTIFY'ı commit'te teslim eder,
+ * rollback olursa mesaj hiç gitmez. Dinleme ayrı, havuz dışı bir bağlantıyla yapılır;
+ * bağlantı koparsa backoff ile yeniden bağlanılır ve kaçırılmış olabilecek mesajlar
+ * için abonelere onResync() çağrılır.
+ */
+@Component
+@Slf4j
+public class ClusterSignalBus {
+
+    public static final String ALARM_SCHEDULED = "alarm-scheduled";
+    public static final String ALARM_CANCELLED = "alarm-cancelled";
+    public static final String PRINCIPAL_EVICT = "principal-evict";
+    public static final String SECURITY_VERSION = "security-version";
+    public static final String COMPANY_ID_EVICT = "company-id-evict";
+    public static final String COMPANY_CREATED = "company-created";
+
+    private static final long MIN_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30000;
+
+    /**
+     * Mesajlar dinleyici thread'inde teslim edilir; handler'lar kısa ve thread-safe olmalı.
+     */
+    public interface Listener {
+        void onSignal(String payload);
+
+        // Bağlantı koptuktan sonra: mesaj kaçırılmış olabilir, yerel durum veritabanından yenilenmeli
+        default void onResync() {
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final long pollTimeoutMillis;
+    private final boolean enabled;
+
+    // Kendi yayınladığımız mesajları tekrar işlememek için
+    final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    public ClusterSignalBus(JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${application.cluster.signals.enabled:true}") boolean enabled,
+            @Value("${application.cluster.signals.channel:applyfollow_signals}") String channel,
+            @Value("${application.cluster.signals.poll-timeout:10000}") long pollTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        // LISTEN/NOTIFY sadece Postgres'te var; diğer veritabanlarında sinyaller yerel kalır
+        this.enabled = enabled && url.startsWith("jdbc:postgresql:");
+
+        Gauge.builder("cluster.signals.connected", this, bus -> bus.connected ? 1 : 0).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Cluster signals disabled, changes are not broadcast to other instances");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cluster-signals");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Connection connection = listenConnection;
+        if (connection != null) {
+            try {
+                connection.close(); // Bekleyen getNotifications çağrısını sonlandırır
+            } catch (SQLException ignored) {
+                // Kapanışta önemsiz
+            }
+        }
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    public void subscribe(String topic, Listener listener) {
+        listeners.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Diğer instance'lara mesaj yayar. Transaction içinde çağrılırsa commit'te teslim edilir.
+     * Yayın hatası çağıranı bozmaz; diğer instance'lar en geç TTL/refill ile tutarlı hale gelir.
+     */
+    public void publish(String topic, String payload) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, instanceId + " " + topic + " " + payload);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish cluster signal {}: {}", topic, e.getMessage());
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void listenLoop() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                connected = true;
+                backoff = MIN_BACKOFF_MILLIS;
+                log.info("Listening for cluster signals on channel {}", channel);
+                if (reconnect) {
+                    resyncAll();
+                }
+                reconnect = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeoutMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        // Sessiz kopmaları yakalamak için boşta iken bağlantı doğrulanır
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("Listener connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Cluster signal listener disconnected, retrying in {} ms: {}", backoff, e.getMessage());
+            } finally {
+                connected = false;
+                listenConnection = null;
+            }
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    void dispatch(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length < 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        for (Listener listener : listeners.getOrDefault(parts[1], List.of())) {
+            try {
+                listener.onSignal(parts[2]);
+            } catch (RuntimeException e) {
+                log.error("Cluster signal handler for {} failed: {}", parts[1], e.getMessage(), e);
+            }
+        }
+    }
+
+    private void resyncAll() {
+        listeners.values().stream().flatMap(List::stream).distinct().forEach(listener -> {
+            try {
+                listener.onResync();
+            } catch (RuntimeException e) {
+                log.error("Cluster signal resync failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+}
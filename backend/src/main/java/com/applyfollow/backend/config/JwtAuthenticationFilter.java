@@ -1,14 +1,16 @@
 package com.applyfollow.backend.config;
 
+import com.applyfollow.backend.security.oauth2.UserPrincipal;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,7 +22,12 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
+
+    // true ise principal veritabanı yerine token claim'lerinden oluşturulur
+    @Value("${application.security.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -30,6 +37,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final VerifiedToken token;
         final String userEmail;
 
         // 1. Authorization header kontrolü
@@ -41,13 +49,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 2. JWT Token'ın çıkarılması
         try {
             jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt);
+            // Token tek seferde parse edilir; imza ve süre burada doğrulanır
+            token = jwtService.verify(jwt);
+            userEmail = token.username();
 
             // 3. Token validasyonu ve SecurityContext'e kullanıcı yüklenmesi
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = resolvePrincipal(token, userEmail);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (token.isValidFor(userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -67,4 +77,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 4. Zincirdeki bir sonraki filtreye geçiş
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(VerifiedToken token, String userEmail) {
+        // Eski (claim'siz) token'lar stateless modda da veritabanı yolundan devam eder
+        if (!stateless || !token.hasIdentityClaims()) {
+            return principalCache.get(userEmail);
+        }
+
+        if (!securityVersionRegistry.isCurrent(token.userId(), token.securityVersion())) {
+            throw new BadCredentialsException("Token has been revoked");
+        }
+        return UserPrincipal.create(token.userId(), userEmail, token.fullName(), token.role());
+    }
 }
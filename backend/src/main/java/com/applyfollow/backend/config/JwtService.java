@@ -1,10 +1,13 @@
 package com.applyfollow.backend.config;
 
+import com.applyfollow.backend.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -18,12 +21,39 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    // Stateless modda filtrenin veritabanına gitmeden principal oluşturması için
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+    public static final String CLAIM_FULL_NAME = "name";
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    // Anahtar ve parser uygulama açılışında bir kez oluşturulur (thread-safe)
+    private Key signInKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes = Decoders.BASE64URL.decode(secretKey);
+        this.signInKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
+    /**
+     * Token'ı tek seferde parse edip imzasını doğrular.
+     * Geçersiz imza veya süresi dolmuş token için JwtException fırlatır.
+     */
+    public VerifiedToken verify(String token) {
+        return new VerifiedToken(extractAllClaims(token));
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -34,7 +64,14 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getId() != null && user.getRole() != null) {
+            claims.put(CLAIM_USER_ID, user.getId().toString());
+            claims.put(CLAIM_ROLE, user.getRole().name());
+            claims.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+            claims.put(CLAIM_FULL_NAME, user.getFullName());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -44,34 +81,17 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token) && userDetails.isEnabled();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).isValidFor(userDetails);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64URL.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
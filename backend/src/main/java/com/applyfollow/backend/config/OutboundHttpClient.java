@@ -0,0 +1,114 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.exception.CircuitOpenException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tüm dış HTTP çağrıları için ortak client.
+ * Tek bir JDK HttpClient (keep-alive connection pool, connect timeout) paylaşılır;
+ * her hedef (destination) için ayrı circuit breaker ve latency/hata metrikleri tutulur.
+ */
+@Component
+public class OutboundHttpClient {
+
+    private final JdkClientHttpRequestFactory requestFactory;
+    private final MeterRegistry meterRegistry;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(MeterRegistry meterRegistry,
+            @Value("${application.http.client.connect-timeout:3000}") long connectTimeoutMillis,
+            @Value("${application.http.client.read-timeout:10000}") long readTimeoutMillis,
+            @Value("${application.http.client.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${application.http.client.circuit.open-duration:30000}") long openDurationMillis) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        this.requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        this.meterRegistry = meterRegistry;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    public RestClient restClient(String destination, String baseUrl) {
+        return RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .requestInterceptor(interceptor(destination))
+                .build();
+    }
+
+    /** RestOperations bekleyen kütüphaneler (ör. Spring Security OAuth2) için. */
+    public RestTemplate restTemplate(String destination) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(interceptor(destination));
+        return restTemplate;
+    }
+
+    public CircuitBreaker.State circuitState(String destination) {
+        return breaker(destination).getState();
+    }
+
+    private ClientHttpRequestInterceptor interceptor(String destination) {
+        CircuitBreaker breaker = breaker(destination);
+        return (request, body, execution) -> {
+            long now = System.currentTimeMillis();
+            if (!breaker.tryAcquire(now)) {
+                meterRegistry.counter("outbound.http.short_circuited", "destination", destination).increment();
+                throw new CircuitOpenException(destination,
+                        Math.max(1, (breaker.remainingOpenMillis(now) + 999) / 1000));
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "IO_ERROR";
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                int status = response.getStatusCode().value();
+                if (status >= 500) {
+                    outcome = "SERVER_ERROR";
+                    breaker.onFailure(System.currentTimeMillis());
+                } else {
+                    // 4xx sağlayıcının bozulduğunu göstermez, breaker'ı etkilemez
+                    outcome = status >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+                    breaker.onSuccess();
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                breaker.onFailure(System.currentTimeMillis());
+                throw e;
+            } finally {
+                sample.stop(meterRegistry.timer("outbound.http.requests", "destination", destination,
+                        "outcome", outcome));
+            }
+        };
+    }
+
+    private CircuitBreaker breaker(String destination) {
+        return breakers.computeIfAbsent(destination, key -> {
+            CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openDurationMillis);
+            Gauge.builder("outbound.http.circuit.open", breaker,
+                    b -> b.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                    .tag("destination", key)
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * JwtAuthenticationFilter için email -> principal önbelleği.
+ * Boyut sınırlı (LRU) ve TTL'li; kullanıcıyı etkileyen yazma işlemlerinde
+ * evict() çağrılarak geçersiz kılınır; evict diğer instance'lara da yayılır.
+ * Transaction içinden çağrılan evict commit'ten sonra uygulanır, aksi halde eşzamanlı bir istek
+ * eski satırı tekrar önbelleğe alabilirdi.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private final UserRepository userRepository;
+    private final ClusterSignalBus signalBus;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries;
+    // Her evict ilgili dilimin sayacını artırır; yükleme sırasında sayaç değiştiyse sonuç önbelleğe yazılmaz
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PrincipalCache(UserRepository userRepository,
+            ClusterSignalBus signalBus,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${application.security.principal-cache.ttl:300000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.signalBus = signalBus;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+
+        this.hits = meterRegistry.counter("auth.principal.cache", "result", "hit");
+        this.misses = meterRegistry.counter("auth.principal.cache", "result", "miss");
+        this.evictions = meterRegistry.counter("auth.principal.cache.evictions");
+        Gauge.builder("auth.principal.cache.size", this, PrincipalCache::size).register(meterRegistry);
+
+        signalBus.subscribe(ClusterSignalBus.PRINCIPAL_EVICT, new ClusterSignalBus.Listener() {
+            @Override
+            public void onSignal(String email) {
+                evictLocal(email);
+            }
+
+            @Override
+            public void onResync() {
+                clear();
+            }
+        });
+    }
+
+    public UserDetails get(String email) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return entry.principal();
+            }
+        }
+
+        misses.increment();
+        int stripe = stripe(email);
+        long generation = generations.get(stripe);
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        User principal = snapshot(user);
+
+        synchronized (entries) {
+            // Yükleme sırasında evict geldiyse okunan satır eski olabilir
+            if (generations.get(stripe) == generation) {
+                entries.put(email, new Entry(principal, now + ttlMillis));
+            }
+        }
+        return principal;
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(email);
+                }
+            });
+        } else {
+            evictNow(email);
+        }
+    }
+
+    private void evictNow(String email) {
+        evictLocal(email);
+        signalBus.publish(ClusterSignalBus.PRINCIPAL_EVICT, email);
+    }
+
+    private void evictLocal(String email) {
+        synchronized (entries) {
+            generations.incrementAndGet(stripe(email));
+            if (entries.remove(email) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations.incrementAndGet(i);
+            }
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static int stripe(String email) {
+        return Math.floorMod(email.hashCode(), GENERATION_STRIPES);
+    }
+
+    // summary ve profileImage gibi büyük TEXT kolonlarını önbellekte tutmamak için
+    // sadece kimlik doğrulamada kullanılan alanlar kopyalanır
+    private User snapshot(User user) {
+        User principal = User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .passwordHash(user.getPasswordHash())
+                .fullName(user.getFullName())
+                .role(user.getRole())
+                .provider(user.getProvider())
+                .active(user.isActive())
+                .build();
+        principal.setCreatedAt(user.getCreatedAt());
+        principal.setUpdatedAt(user.getUpdatedAt());
+        return principal;
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.applyfollow.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Public endpointler (/api/auth/**, /api/contact/**) için IP ve hedef email
+ * bazlı rate limiting. Security zincirinden önce çalışır, böylece limit aşan
+ * istekler BCrypt veya veritabanı maliyeti oluşturmadan 429 ile döner.
+ * İstemci IP'si remoteAddr'dır; X-Forwarded-For sadece bağlantı güvenilen bir proxy'den
+ * geliyorsa Tomcat RemoteIpValve tarafından uygulanır (server.tomcat.remoteip.internal-proxies).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Email limiti olan gruplarda gövde en fazla bu kadar okunur; daha büyük gövdeler 413 ile reddedilir
+    static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final StripedRateLimiter limiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new StripedRateLimiter(properties.stripes(), properties.maxBuckets());
+        Gauge.builder("http.rate_limit.buckets", limiter, StripedRateLimiter::size).register(meterRegistry);
+        FunctionCounter.builder("http.rate_limit.buckets.overflow_evictions", limiter,
+                StripedRateLimiter::overflowEvictions).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Ham URI değil, controller'ların eşlendiği çözülmüş yol: /api/%61uth ve context-path limitleri atlatamaz
+        Map.Entry<String, RateLimitProperties.Group> match = findGroup(urlPathHelper.getPathWithinApplication(request));
+        if (match == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String groupName = match.getKey();
+        RateLimitProperties.Group group = match.getValue();
+        long now = System.currentTimeMillis();
+
+        if (group.perIp() != null) {
+            long waitMillis = limiter.tryAcquire(groupName + ":ip:" + request.getRemoteAddr(),
+                    group.perIp().capacity(), group.perIp().refillPerMinute(), now);
+            if (waitMillis > 0) {
+                reject(response, groupName, "ip", waitMillis);
+                return;
+            }
+        }
+
+        HttpServletRequest forwarded = request;
+        if (group.perEmail() != null && HttpMethod.POST.matches(request.getMethod())) {
+            // Content-Length'e güvenilmez (chunked istekte bilinmez); gövde akıştan sınırlı okunur
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request);
+            if (cached == null) {
+                writeProblem(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large.");
+                return;
+            }
+            forwarded = cached;
+            String email = extractEmail(cached);
+            if (email != null) {
+                long waitMillis = limiter.tryAcquire(groupName + ":email:" + email,
+                        group.perEmail().capacity(), group.perEmail().refillPerMinute(), now);
+                if (waitMillis > 0) {
+                    reject(response, groupName, "email", waitMillis);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void evictIdleBuckets() {
+        int evicted = limiter.evictIdle(properties.idleEvictionMillis(), System.currentTimeMillis());
+        if (evicted > 0) {
+            log.debug("Rate limiter evicted {} idle buckets", evicted);
+        }
+    }
+
+    private Map.Entry<String, RateLimitProperties.Group> findGroup(String path) {
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.groups().entrySet()) {
+            if (entry.getValue().paths() == null) {
+                continue;
+            }
+            for (String pattern : entry.getValue().paths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String extractEmail(CachedBodyRequest request) {
+        if (request.body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(request.body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Geçersiz JSON: limit uygulanmaz, validation katmanı 400 döner
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String group, String scope, long waitMillis)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        meterRegistry.counter("http.rate_limit.rejected", "group", group, "scope", scope).increment();
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeProblem(response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, please try again later.");
+    }
+
+    private void writeProblem(HttpServletResponse response, HttpStatus status, String detail) throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setTitle(status.getReasonPhrase());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    /**
+     * Gövdeyi bir kez okuyup sonraki filtreler ve controller için tekrar
+     * okunabilir hale getiren wrapper.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // Gövde sınırı aşıyorsa null döner
+        static CachedBodyRequest wrap(HttpServletRequest request) throws IOException {
+            if (request.getContentLengthLong() > MAX_INSPECTED_BODY_BYTES) {
+                return null;
+            }
+            InputStream in = request.getInputStream();
+            byte[] body = in.readNBytes(MAX_INSPECTED_BODY_BYTES);
+            if (body.length == MAX_INSPECTED_BODY_BYTES && in.read() != -1) {
+                return null;
+            }
+            return new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Gövde zaten bellekte: okuma hemen hazır, dinleyici beklemeden çağrılır
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
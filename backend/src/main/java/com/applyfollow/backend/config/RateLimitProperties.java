@@ -0,0 +1,40 @@
+package com.applyfollow.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * application.rate-limit.* ayarları. Her grup bir veya daha fazla path pattern'ı
+ * ve IP / hedef email başına ayrı limitler tanımlar.
+ */
+@ConfigurationProperties(prefix = "application.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        int stripes,
+        long idleEvictionMillis,
+        int maxBuckets,
+        Map<String, Group> groups) {
+
+    public RateLimitProperties {
+        if (stripes <= 0) {
+            stripes = 64;
+        }
+        if (idleEvictionMillis <= 0) {
+            idleEvictionMillis = 600000;
+        }
+        if (maxBuckets <= 0) {
+            maxBuckets = 100000;
+        }
+        if (groups == null) {
+            groups = Map.of();
+        }
+    }
+
+    public record Group(List<String> paths, Limit perIp, Limit perEmail) {
+    }
+
+    public record Limit(int capacity, int refillPerMinute) {
+    }
+}
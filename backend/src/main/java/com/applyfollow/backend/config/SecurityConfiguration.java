@@ -6,17 +6,24 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.client.endpoint.DefaultAuthorizationCodeTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.applyfollow.backend.security.oauth2.CustomOAuth2UserService;
 import com.applyfollow.backend.security.oauth2.OAuth2AuthenticationSuccessHandler;
@@ -39,6 +46,7 @@ public class SecurityConfiguration {
         private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
         private final OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
         private final HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository;
+        private final OutboundHttpClient outboundHttpClient;
 
         @Value("#{'${cors.allowed.origins}'.split(',')}")
         private List<String> allowedOrigins;
@@ -63,6 +71,8 @@ public class SecurityConfiguration {
                                                 .requestMatchers(WHITE_LIST_URL).permitAll() // Public endpointler
                                                 .requestMatchers("/api/admin/**").hasAuthority("ADMIN") // Admin yetkisi
                                                                                                         // şart
+                                                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll() // Liveness/readiness probe
+                                                .requestMatchers("/actuator/**").hasAuthority("ADMIN") // Metrikler
                                                 .anyRequest().authenticated() // Diğer her şey için authentication şart
                                 )
                                 .sessionManagement(session -> session
@@ -83,6 +93,8 @@ public class SecurityConfiguration {
                                                                 .baseUri("/api/login/oauth2/code/google")) // Dokümandaki
                                                                                                            // net
                                                                                                            // eşleşme
+                                                .tokenEndpoint(token -> token
+                                                                .accessTokenResponseClient(accessTokenResponseClient()))
                                                 .userInfoEndpoint(userInfo -> userInfo
                                                                 .userService(customOAuth2UserService))
                                                 .successHandler(oAuth2AuthenticationSuccessHandler)
@@ -97,13 +109,25 @@ public class SecurityConfiguration {
                 return http.build();
         }
 
+        // Google token endpoint çağrısı da ortak pool/timeout/circuit breaker üzerinden gitsin
+        private OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> accessTokenResponseClient() {
+                RestTemplate restTemplate = outboundHttpClient.restTemplate("google-oauth2");
+                restTemplate.setMessageConverters(List.of(new FormHttpMessageConverter(),
+                                new OAuth2AccessTokenResponseHttpMessageConverter()));
+                restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+
+                DefaultAuthorizationCodeTokenResponseClient client = new DefaultAuthorizationCodeTokenResponseClient();
+                client.setRestOperations(restTemplate);
+                return client;
+        }
+
         @Bean
         public CorsConfigurationSource corsConfigurationSource() {
                 CorsConfiguration configuration = new CorsConfiguration();
                 // Allow origins defined in application.properties
                 configuration.setAllowedOriginPatterns(allowedOrigins);
                 configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
-                configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-User-Id"));
+                configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-User-Id", "Idempotency-Key"));
                 configuration.setAllowCredentials(true);
 
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
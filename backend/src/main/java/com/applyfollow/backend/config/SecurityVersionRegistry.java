@@ -0,0 +1,72 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kullanıcı başına güvenlik versiyonu tablosu.
+ * Sadece versiyonu 0'dan büyük (en az bir kez şifre değiştirmiş veya askıya
+ * alınmış) kullanıcılar tutulur, bu yüzden tablo küçük kalır.
+ * Token'daki "sv" claim'i buradaki değerden küçükse token iptal edilmiş sayılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SecurityVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final ClusterSignalBus signalBus;
+
+    private final Map<UUID, Integer> versions = new ConcurrentHashMap<>();
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        reload();
+        log.info("Security version registry initialized with {} entries", versions.size());
+
+        signalBus.subscribe(ClusterSignalBus.SECURITY_VERSION, new ClusterSignalBus.Listener() {
+            @Override
+            public void onSignal(String payload) {
+                String[] parts = payload.split(":", 2);
+                versions.merge(UUID.fromString(parts[0]), Integer.parseInt(parts[1]), Math::max);
+            }
+
+            @Override
+            public void onResync() {
+                reload();
+            }
+        });
+    }
+
+    private void reload() {
+        for (Object[] row : userRepository.findNonZeroSecurityVersions()) {
+            versions.merge((UUID) row[0], (Integer) row[1], Math::max);
+        }
+    }
+
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Kullanıcının versiyonunu artırır; çağıran taraf entity'yi kaydetmelidir.
+     */
+    public void bump(User user) {
+        int next = user.getSecurityVersion() + 1;
+        user.setSecurityVersion(next);
+        versions.merge(user.getId(), next, Math::max);
+        // Diğer instance'lar da eski token'ları hemen reddetsin
+        signalBus.publish(ClusterSignalBus.SECURITY_VERSION, user.getId() + ":" + next);
+    }
+
+    public int size() {
+        return versions.size();
+    }
+}
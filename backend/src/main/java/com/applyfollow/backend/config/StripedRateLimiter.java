@@ -0,0 +1,150 @@
+package com.applyfollow.backend.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-striped token bucket tablosu.
+ * Anahtarlar hash'lerine göre sabit sayıda stripe'a dağıtılır; her stripe kendi
+ * kilidi ve HashMap'i ile çalışır, böylece farklı IP/email'ler birbirini
+ * beklemez ve tek bir global kilit oluşmaz.
+ * Toplam bucket sayısı sınırlıdır: stripe dolduğunda önce tamamen dolmuş (silinse de
+ * aynı durumla yeniden oluşacak) bucket'lar, hâlâ yer yoksa en uzun süredir kullanılmayan silinir.
+ */
+public class StripedRateLimiter {
+
+    private final Stripe[] stripes;
+    private final int maxBucketsPerStripe;
+    private final LongAdder overflowEvictions = new LongAdder();
+
+    public StripedRateLimiter(int stripeCount, int maxBuckets) {
+        this.stripes = new Stripe[stripeCount];
+        this.maxBucketsPerStripe = Math.max(1, maxBuckets / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Anahtar için bir token almayı dener.
+     *
+     * @return 0 ise izin verildi; aksi halde bir sonraki token'a kalan süre (ms)
+     */
+    public long tryAcquire(String key, int capacity, int refillPerMinute, long nowMillis) {
+        double refillPerMilli = refillPerMinute / 60000.0;
+        Stripe stripe = stripeFor(key);
+
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxBucketsPerStripe) {
+                    makeRoom(stripe, nowMillis);
+                }
+                bucket = new Bucket(capacity, refillPerMilli, nowMillis);
+                stripe.buckets.put(key, bucket);
+            } else {
+                long elapsed = nowMillis - bucket.lastRefill;
+                if (elapsed > 0) {
+                    bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * refillPerMilli);
+                    bucket.lastRefill = nowMillis;
+                }
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / refillPerMilli);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Belirtilen süreden uzun süredir dokunulmamış bucket'ları siler.
+     * idleMillis, en yavaş grubun dolma süresinden uzun olmalıdır.
+     */
+    public int evictIdle(long idleMillis, long nowMillis) {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Map.Entry<String, Bucket>> it = stripe.buckets.entrySet().iterator();
+                while (it.hasNext()) {
+                    if (nowMillis - it.next().getValue().lastRefill > idleMillis) {
+                        it.remove();
+                        evicted++;
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    // Kilit tutulurken çağrılır
+    private void makeRoom(Stripe stripe, long nowMillis) {
+        Iterator<Bucket> it = stripe.buckets.values().iterator();
+        while (it.hasNext()) {
+            Bucket bucket = it.next();
+            if (bucket.tokens + (nowMillis - bucket.lastRefill) * bucket.refillPerMilli >= bucket.capacity) {
+                it.remove();
+                overflowEvictions.increment();
+            }
+        }
+        // Erişim sırasına göre ilk eleman en uzun süredir kullanılmayandır
+        it = stripe.buckets.values().iterator();
+        while (stripe.buckets.size() >= maxBucketsPerStripe && it.hasNext()) {
+            it.next();
+            it.remove();
+            overflowEvictions.increment();
+        }
+    }
+
+    public long overflowEvictions() {
+        return overflowEvictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class Bucket {
+        private final int capacity;
+        private final double refillPerMilli;
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(int capacity, double refillPerMilli, long lastRefill) {
+            this.capacity = capacity;
+            this.refillPerMilli = refillPerMilli;
+            this.tokens = capacity;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.applyfollow.backend.config;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * İmzası ve süresi bir kez doğrulanmış JWT.
+ * Filtre token'ı tekrar parse etmeden bu nesne üzerinden karar verir.
+ */
+public record VerifiedToken(Claims claims) {
+
+    public String username() {
+        return claims.getSubject();
+    }
+
+    public Date expiration() {
+        return claims.getExpiration();
+    }
+
+    public <T> T claim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    public boolean hasIdentityClaims() {
+        return claims.get(JwtService.CLAIM_USER_ID) != null
+                && claims.get(JwtService.CLAIM_ROLE) != null
+                && claims.get(JwtService.CLAIM_SECURITY_VERSION) != null;
+    }
+
+    public UUID userId() {
+        return UUID.fromString(claim(JwtService.CLAIM_USER_ID, String.class));
+    }
+
+    public String role() {
+        return claim(JwtService.CLAIM_ROLE, String.class);
+    }
+
+    public int securityVersion() {
+        return claim(JwtService.CLAIM_SECURITY_VERSION, Integer.class);
+    }
+
+    public String fullName() {
+        return claim(JwtService.CLAIM_FULL_NAME, String.class);
+    }
+
+    public boolean isExpired() {
+        return expiration().before(new Date());
+    }
+
+    public boolean isValidFor(UserDetails userDetails) {
+        return username().equals(userDetails.getUsername()) && !isExpired() && userDetails.isEnabled();
+    }
+}
@@ -1,11 +1,16 @@
 package com.applyfollow.backend.controller;
 
+import com.applyfollow.backend.config.PrincipalCache;
+import com.applyfollow.backend.config.SecurityVersionRegistry;
 import com.applyfollow.backend.dto.AdminUserDetailResponse;
+import com.applyfollow.backend.dto.CompanyDedupReport;
 import com.applyfollow.backend.dto.UserResponse;
 import com.applyfollow.backend.model.ContactMessage;
 import com.applyfollow.backend.model.User;
 import com.applyfollow.backend.repository.ContactMessageRepository;
 import com.applyfollow.backend.repository.UserRepository;
+import com.applyfollow.backend.scheduler.CompanyDeduplicationJob;
+import com.applyfollow.backend.service.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +27,10 @@ public class AdminController {
 
     private final UserRepository userRepository;
     private final ContactMessageRepository contactMessageRepository;
+    private final PrincipalCache principalCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final RefreshTokenService refreshTokenService;
+    private final CompanyDeduplicationJob companyDeduplicationJob;
 
     // --- User Management ---
 
@@ -103,7 +112,14 @@ public class AdminController {
         // Note: For simplicity, we assume the admin knows what they're doing.
 
         user.setActive(!user.isActive());
+        if (!user.isActive()) {
+            // Stateless modda eski token'lar ve refresh token'lar da reddedilsin
+            securityVersionRegistry.bump(user);
+            refreshTokenService.revokeAll(user);
+        }
         userRepository.save(user);
+        // Askıya alınan kullanıcının önbellekteki oturumu hemen düşsün
+        principalCache.evict(user.getEmail());
         return ResponseEntity.ok().build();
     }
 
@@ -133,4 +149,12 @@ public class AdminController {
         contactMessageRepository.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // --- Company Maintenance ---
+
+    // Varsayılan dry-run: sadece birleştirilecek grupları raporlar
+    @PostMapping("/companies/deduplicate")
+    public ResponseEntity<CompanyDedupReport> deduplicateCompanies(@RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.ok(companyDeduplicationJob.run(dryRun));
+    }
 }
@@ -1,16 +1,20 @@
 package com.applyfollow.backend.controller;
 
+import com.applyfollow.backend.dto.ApplicationFilter;
+import com.applyfollow.backend.dto.ApplicationPageResponse;
 import com.applyfollow.backend.dto.ApplicationRequest;
 import com.applyfollow.backend.dto.ApplicationResponse;
 import com.applyfollow.backend.dto.ContactDto;
-import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.model.ApplicationStatus;
 import com.applyfollow.backend.service.ApplicationService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,9 +29,22 @@ public class ApplicationController {
     }
 
     @GetMapping
-    public List<ApplicationResponse> findAll(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.getAllApplications(user.getId());
+    public List<ApplicationResponse> findAll(@AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.getAllApplications(userId);
+    }
+
+    // limit parametresi ile sayfalı ve filtreli liste; parametresiz istek eski tam listeyi döndürmeye devam eder
+    @GetMapping(params = "limit")
+    public ApplicationPageResponse findPage(@AuthenticationPrincipal(expression = "id") UUID userId,
+            @RequestParam Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) ApplicationStatus status,
+            @RequestParam(required = false) UUID companyId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String q) {
+        return service.getApplicationsPage(userId, new ApplicationFilter(status, companyId, from, to, q), cursor,
+                limit);
     }
 
     // Admin endpoint to view other users' applications
@@ -38,17 +55,18 @@ public class ApplicationController {
     }
 
     @GetMapping("/{id}")
-    public ApplicationResponse findById(@PathVariable UUID id, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.getApplicationById(id, user.getId());
+    public ApplicationResponse findById(@PathVariable UUID id, @AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.getApplicationById(id, userId);
     }
 
+    // Yeni kayıt 201, var olan kayıt döndüyse (tekrar gönderim veya aynı başvuru) 200
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public ApplicationResponse save(@Valid @RequestBody ApplicationRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.createApplication(request, user.getId());
+    public ResponseEntity<ApplicationResponse> save(@Valid @RequestBody ApplicationRequest request,
+            @AuthenticationPrincipal(expression = "id") UUID userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ApplicationService.Creation creation = service.createApplication(request, userId, idempotencyKey);
+        return ResponseEntity.status(creation.created() ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(creation.application());
     }
 
     // --- Contacts Endpoints ---
@@ -56,35 +74,30 @@ public class ApplicationController {
     @PostMapping("/{id}/contacts")
     @ResponseStatus(HttpStatus.CREATED)
     public ContactDto addContact(@PathVariable UUID id, @RequestBody ContactDto contactDto,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.addContact(id, contactDto, user.getId());
+            @AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.addContact(id, contactDto, userId);
     }
 
     @GetMapping("/{id}/contacts")
-    public List<ContactDto> getContacts(@PathVariable UUID id, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.getContacts(id, user.getId());
+    public List<ContactDto> getContacts(@PathVariable UUID id, @AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.getContacts(id, userId);
     }
 
     @PatchMapping("/{id}/notes")
     public ApplicationResponse updateNotes(@PathVariable UUID id, @RequestBody String notes,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.updateNotes(id, notes, user.getId());
+            @AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.updateNotes(id, notes, userId);
     }
 
     @PatchMapping("/{id}/status")
     public ApplicationResponse updateStatus(@PathVariable UUID id, @RequestParam String status,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.updateStatus(id, status, user.getId());
+            @AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.updateStatus(id, status, userId);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable UUID id, @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        service.deleteApplication(id, user.getId());
+    public void delete(@PathVariable UUID id, @AuthenticationPrincipal(expression = "id") UUID userId) {
+        service.deleteApplication(id, userId);
     }
 }
@@ -2,6 +2,8 @@ package com.applyfollow.backend.controller;
 
 import com.applyfollow.backend.dto.AuthResponse;
 import com.applyfollow.backend.dto.LoginRequest;
+import com.applyfollow.backend.dto.OAuth2CodeExchangeRequest;
+import com.applyfollow.backend.dto.RefreshTokenRequest;
 import com.applyfollow.backend.dto.RegisterRequest;
 import com.applyfollow.backend.service.UserService;
 import jakarta.validation.Valid;
@@ -29,6 +31,23 @@ public class AuthController {
         return userService.login(request);
     }
 
+    @PostMapping("/refresh")
+    public AuthResponse refresh(@RequestBody @Valid RefreshTokenRequest request) {
+        return userService.refresh(request);
+    }
+
+    // OAuth2 callback'indeki tek kullanımlık kod -> token çifti
+    @PostMapping("/oauth2/token")
+    public AuthResponse exchangeOAuth2Code(@RequestBody @Valid OAuth2CodeExchangeRequest request) {
+        return userService.exchangeOAuth2Code(request);
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestBody @Valid RefreshTokenRequest request) {
+        userService.logout(request);
+    }
+
     @PostMapping("/forgot-password")
     @ResponseStatus(HttpStatus.OK)
     public void forgotPassword(@RequestBody @Valid com.applyfollow.backend.dto.ForgotPasswordRequest request) {
@@ -2,14 +2,12 @@ package com.applyfollow.backend.controller;
 
 import com.applyfollow.backend.dto.CalendarEventRequest;
 import com.applyfollow.backend.dto.CalendarEventResponse;
-import com.applyfollow.backend.model.User;
 import com.applyfollow.backend.service.CalendarEventService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,32 +21,28 @@ public class CalendarEventController {
     private final CalendarEventService service;
 
     @GetMapping
-    public List<CalendarEventResponse> getAllEvents(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.getAllEvents(user.getId());
+    public List<CalendarEventResponse> getAllEvents(@AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.getAllEvents(userId);
     }
 
     @GetMapping("/today/count")
-    public long getTodayEventCount(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.getTodayEventCount(user.getId());
+    public long getTodayEventCount(@AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.getTodayEventCount(userId);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public CalendarEventResponse createEvent(
             @Valid @RequestBody CalendarEventRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        return service.createEvent(request, user.getId());
+            @AuthenticationPrincipal(expression = "id") UUID userId) {
+        return service.createEvent(request, userId);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEvent(
             @PathVariable UUID id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = (User) userDetails;
-        service.deleteEvent(id, user.getId());
+            @AuthenticationPrincipal(expression = "id") UUID userId) {
+        service.deleteEvent(id, userId);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,14 +1,18 @@
 package com.applyfollow.backend.controller;
 
 import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.dto.CompanySuggestion;
 import com.applyfollow.backend.service.CompanyService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/companies")
 public class CompanyController {
@@ -23,4 +27,11 @@ public class CompanyController {
     public Page<CompanyResponse> getAllCompanies(@PageableDefault(size = 20) Pageable pageable) {
         return companyService.getAllCompanies(pageable);
     }
+
+    // Başvuru formunda şirket adı otomatik tamamlama
+    @GetMapping("/suggest")
+    public List<CompanySuggestion> suggest(@RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        return companyService.suggest(q, limit);
+    }
 }
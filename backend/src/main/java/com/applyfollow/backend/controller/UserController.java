@@ -2,6 +2,7 @@ package com.applyfollow.backend.controller;
 
 import com.applyfollow.backend.dto.AuthResponse;
 import com.applyfollow.backend.dto.ChangePasswordRequest;
+import com.applyfollow.backend.dto.NotificationPreferences;
 import com.applyfollow.backend.dto.UpdateProfileRequest;
 import com.applyfollow.backend.dto.UserResponse;
 import com.applyfollow.backend.service.UserService;
@@ -10,9 +11,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import com.applyfollow.backend.model.User;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/users")
@@ -30,30 +32,40 @@ public class UserController {
     }
 
     @GetMapping("/profile")
-    public AuthResponse getProfile(org.springframework.security.core.Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
-        return userService.getProfile(user.getId());
+    public AuthResponse getProfile(@AuthenticationPrincipal(expression = "id") UUID userId) {
+        return userService.getProfile(userId);
     }
 
     @GetMapping("/me")
-    public AuthResponse getCurrentUser(org.springframework.security.core.Authentication authentication) {
-        return getProfile(authentication);
+    public AuthResponse getCurrentUser(@AuthenticationPrincipal(expression = "id") UUID userId) {
+        return getProfile(userId);
     }
 
     @PutMapping("/profile")
     public AuthResponse updateProfile(
-            org.springframework.security.core.Authentication authentication,
+            @AuthenticationPrincipal(expression = "id") UUID userId,
             @RequestBody @Valid UpdateProfileRequest request) {
-        User user = (User) authentication.getPrincipal();
-        return userService.updateProfile(user.getId(), request);
+        return userService.updateProfile(userId, request);
+    }
+
+    @GetMapping("/notification-preferences")
+    public NotificationPreferences getNotificationPreferences(
+            @AuthenticationPrincipal(expression = "id") UUID userId) {
+        return userService.getNotificationPreferences(userId);
+    }
+
+    @PutMapping("/notification-preferences")
+    public NotificationPreferences updateNotificationPreferences(
+            @AuthenticationPrincipal(expression = "id") UUID userId,
+            @RequestBody @Valid NotificationPreferences request) {
+        return userService.updateNotificationPreferences(userId, request);
     }
 
     @PostMapping("/change-password")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void changePassword(
-            org.springframework.security.core.Authentication authentication,
+            @AuthenticationPrincipal(expression = "id") UUID userId,
             @RequestBody @Valid ChangePasswordRequest request) {
-        User user = (User) authentication.getPrincipal();
-        userService.changePassword(user.getId(), request);
+        userService.changePassword(userId, request);
     }
 }
@@ -0,0 +1,18 @@
+package com.applyfollow.backend.dto;
+
+import com.applyfollow.backend.model.ApplicationStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Başvuru listesi filtreleri; null alanlar filtre uygulanmadığı anlamına gelir.
+ * from/to appliedAt için gün bazında ve her iki uçta dahildir.
+ */
+public record ApplicationFilter(
+                ApplicationStatus status,
+                UUID companyId,
+                LocalDate from,
+                LocalDate to,
+                String q) {
+}
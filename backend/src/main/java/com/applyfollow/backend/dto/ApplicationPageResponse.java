@@ -0,0 +1,11 @@
+package com.applyfollow.backend.dto;
+
+import java.util.List;
+
+/**
+ * nextCursor null ise son sayfadır; değilse bir sonraki istekte cursor olarak gönderilir.
+ */
+public record ApplicationPageResponse(
+                List<ApplicationResponse> items,
+                String nextCursor) {
+}
@@ -12,5 +12,15 @@ public record ApplicationResponse(
                 String jobUrl,
                 String notes,
                 LocalDateTime appliedAt) {
+
+        /**
+         * JPQL constructor expression için düz kolon listesi; entity yüklemeden doğrudan DTO okunur.
+         */
+        public ApplicationResponse(UUID id, String position, ApplicationStatus status, String jobUrl, String notes,
+                        LocalDateTime appliedAt, UUID companyId, String companyName, String companyWebsite,
+                        String companyLinkedinUrl, String companyLogoUrl, LocalDateTime companyCreatedAt) {
+                this(id, new CompanyResponse(companyId, companyName, companyWebsite, companyLinkedinUrl,
+                                companyLogoUrl, companyCreatedAt), position, status, jobUrl, notes, appliedAt);
+        }
 }
 
@@ -4,6 +4,7 @@ import java.util.UUID;
 
 public record AuthResponse(
                 String token,
+                String refreshToken,
                 UUID id,
                 String email,
                 String fullName,
@@ -0,0 +1,25 @@
+package com.applyfollow.backend.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Şirket tekilleştirme çalışmasının özeti. dryRun ise hiçbir şey değiştirilmemiştir;
+ * groups en fazla CompanyDeduplicationJob.MAX_REPORTED_GROUPS grup içerir.
+ */
+public record CompanyDedupReport(
+        boolean dryRun,
+        int companiesScanned,
+        int duplicateGroups,
+        int companiesMerged,
+        long applicationsRepointed,
+        int skipped,
+        long durationMillis,
+        List<Group> groups) {
+
+    public record Group(UUID survivorId, String survivorName, long applications, List<Duplicate> duplicates) {
+    }
+
+    public record Duplicate(UUID id, String name, long applications, double similarity) {
+    }
+}
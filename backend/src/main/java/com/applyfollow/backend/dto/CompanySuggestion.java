@@ -0,0 +1,10 @@
+package com.applyfollow.backend.dto;
+
+import java.util.UUID;
+
+public record CompanySuggestion(
+        UUID id,
+        String name,
+        String logoUrl,
+        long usageCount) {
+}
@@ -0,0 +1,7 @@
+package com.applyfollow.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record NotificationPreferences(
+        @NotNull(message = "reminderDigest is required") Boolean reminderDigest) {
+}
@@ -0,0 +1,7 @@
+package com.applyfollow.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record OAuth2CodeExchangeRequest(
+        @NotBlank(message = "Login code is required") String code) {
+}
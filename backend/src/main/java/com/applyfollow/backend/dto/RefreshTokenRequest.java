@@ -0,0 +1,7 @@
+package com.applyfollow.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank(message = "Refresh token is required") String refreshToken) {
+}
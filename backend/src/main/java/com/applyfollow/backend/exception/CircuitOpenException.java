@@ -0,0 +1,11 @@
+package com.applyfollow.backend.exception;
+
+/**
+ * Dış servis için circuit breaker açıkken fırlatılır; istek hiç gönderilmez.
+ */
+public class CircuitOpenException extends ServiceUnavailableException {
+
+    public CircuitOpenException(String destination, long retryAfterSeconds) {
+        super("External service '" + destination + "' is temporarily unavailable", retryAfterSeconds);
+    }
+}
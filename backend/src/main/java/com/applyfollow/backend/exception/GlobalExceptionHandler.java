@@ -1,12 +1,15 @@
 package com.applyfollow.backend.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.List;
 import java.util.Map;
@@ -49,6 +52,21 @@ public class GlobalExceptionHandler {
                 return problemDetail;
         }
 
+        @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+        public ProblemDetail handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+                ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                                "Invalid value for parameter '" + ex.getName() + "'");
+                problemDetail.setTitle("Bad Request");
+                return problemDetail;
+        }
+
+        @ExceptionHandler(InvalidTokenException.class)
+        public ProblemDetail handleInvalidToken(InvalidTokenException ex) {
+                ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.UNAUTHORIZED, ex.getMessage());
+                problemDetail.setTitle("Unauthorized");
+                return problemDetail;
+        }
+
         @ExceptionHandler(AlreadyExistsException.class)
         public ProblemDetail handleAlreadyExists(AlreadyExistsException ex) {
                 ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
@@ -56,6 +74,16 @@ public class GlobalExceptionHandler {
                 return problemDetail;
         }
 
+        @ExceptionHandler(ServiceUnavailableException.class)
+        public ResponseEntity<ProblemDetail> handleServiceUnavailable(ServiceUnavailableException ex) {
+                ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                                ex.getMessage());
+                problemDetail.setTitle("Service Unavailable");
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                                .body(problemDetail);
+        }
+
         @ExceptionHandler(Exception.class)
         public ProblemDetail handleGlobalException(Exception ex) {
                 log.error("Unexpected error occurred: ", ex);
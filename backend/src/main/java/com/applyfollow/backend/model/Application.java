@@ -17,8 +17,11 @@ public class Application extends BaseEntity {
     @lombok.EqualsAndHashCode.Exclude
     private User user;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Okuma sorguları şirketi ya JOIN FETCH ile ya da DTO projeksiyonuyla açıkça alır
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id", nullable = false)
+    @lombok.ToString.Exclude
+    @lombok.EqualsAndHashCode.Exclude
     private Company company;
 
     private String position;
@@ -29,6 +32,8 @@ public class Application extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Keyset sayfalama (appliedAt, id) üzerinden yapıldığı için boş olamaz
+    @Column(nullable = false)
     private LocalDateTime appliedAt = LocalDateTime.now();
 
 }
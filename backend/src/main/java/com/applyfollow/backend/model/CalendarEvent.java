@@ -7,6 +7,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Data
@@ -39,6 +40,10 @@ public class CalendarEvent extends BaseEntity {
     @Column(name = "alarm_time")
     private LocalTime alarmTime;
 
+    // Hatırlatmayı gönderen instance'ın lease'i; süresi dolarsa başka bir instance tekrar dener
+    @Column(name = "reminder_lease_until")
+    private LocalDateTime reminderLeaseUntil;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
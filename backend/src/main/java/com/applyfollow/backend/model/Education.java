@@ -18,7 +18,7 @@ import java.util.UUID;
 @Table(name = "educations")
 public class Education {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     private String schoolName;
@@ -0,0 +1,6 @@
+package com.applyfollow.backend.model;
+
+public enum EmailFormat {
+    HTML, // Resend API üzerinden
+    TEXT  // SMTP (MailService) üzerinden
+}
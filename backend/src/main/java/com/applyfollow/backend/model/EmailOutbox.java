@@ -0,0 +1,57 @@
+package com.applyfollow.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gönderilmeyi bekleyen email. İş transaction'ı içinde yazılır, arka planda
+ * EmailOutboxDispatcher tarafından gönderilir. Başarılı gönderimde satır silinir;
+ * deneme hakkı biten mesajlar DEAD olarak kalır (dead-letter).
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class EmailOutbox extends BaseEntity {
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public EmailOutbox(String recipient, String subject, String body, EmailFormat format, LocalDateTime nextAttemptAt) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.format = format;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
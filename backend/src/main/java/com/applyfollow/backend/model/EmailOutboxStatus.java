@@ -0,0 +1,6 @@
+package com.applyfollow.backend.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    DEAD
+}
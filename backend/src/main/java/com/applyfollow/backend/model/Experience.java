@@ -18,7 +18,7 @@ import java.util.UUID;
 @Table(name = "experiences")
 public class Experience {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     private String companyName;
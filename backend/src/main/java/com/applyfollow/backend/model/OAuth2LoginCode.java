@@ -0,0 +1,41 @@
+package com.applyfollow.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * OAuth2 girişinden sonra frontend'e yönlendirme URL'inde giden tek kullanımlık kod.
+ * Token'lar URL'e (tarayıcı geçmişi, proxy logları, Referer) hiç yazılmaz; kod POST ile token çiftine çevrilir.
+ */
+@Entity
+@Table(name = "oauth2_login_codes")
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class OAuth2LoginCode extends BaseEntity {
+
+    // Ham kod sadece yönlendirme URL'inde gider; burada SHA-256 hex hash'i tutulur
+    @Column(nullable = false, unique = true, length = 64)
+    private String codeHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expiryDate;
+
+    public OAuth2LoginCode(String codeHash, User user, LocalDateTime expiryDate) {
+        this.codeHash = codeHash;
+        this.user = user;
+        this.expiryDate = expiryDate;
+    }
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(this.expiryDate);
+    }
+}
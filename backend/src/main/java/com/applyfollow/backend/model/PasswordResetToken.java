@@ -14,8 +14,9 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(callSuper = true)
 public class PasswordResetToken extends BaseEntity {
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // Ham token sadece email'de gider; burada SHA-256 hex hash'i tutulur
+    @Column(name = "token", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(nullable = false, name = "user_id")
@@ -24,8 +25,8 @@ public class PasswordResetToken extends BaseEntity {
     @Column(nullable = false)
     private LocalDateTime expiryDate;
 
-    public PasswordResetToken(String token, User user, LocalDateTime expiryDate) {
-        this.token = token;
+    public PasswordResetToken(String tokenHash, User user, LocalDateTime expiryDate) {
+        this.tokenHash = tokenHash;
         this.user = user;
         this.expiryDate = expiryDate;
     }
@@ -0,0 +1,52 @@
+package com.applyfollow.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Rotating refresh token. Ham token hiçbir zaman saklanmaz, sadece SHA-256
+ * hash'i tutulur. Aynı login'den türeyen tüm tokenlar aynı familyId'yi paylaşır;
+ * kullanılmış bir token tekrar gelirse tüm aile iptal edilir (reuse detection).
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family", columnList = "familyId"),
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class RefreshToken extends BaseEntity {
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private UUID familyId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiryDate;
+
+    @Column(nullable = false)
+    private boolean revoked = false;
+
+    public RefreshToken(String tokenHash, User user, UUID familyId, LocalDateTime expiryDate) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.familyId = familyId;
+        this.expiryDate = expiryDate;
+    }
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(this.expiryDate);
+    }
+}
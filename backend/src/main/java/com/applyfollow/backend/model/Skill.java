@@ -17,7 +17,7 @@ import java.util.UUID;
 @Table(name = "skills")
 public class Skill {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     private String name; // Java, React, Photoshop vb.
@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -90,6 +91,16 @@ public class User extends BaseEntity implements UserDetails {
     @Column(nullable = false)
     private boolean marketDataConsent = false;
 
+    // Aynı pencereye düşen hatırlatmalar tek mailde toplansın mı (kullanıcı kapatabilir)
+    @ColumnDefault("true")
+    @Column(nullable = false)
+    private boolean reminderDigest = true;
+
+    // Şifre değişimi veya askıya alma sonrası eski token'ları geçersiz kılmak için artırılır
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int securityVersion = 0;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @lombok.ToString.Exclude
     @lombok.EqualsAndHashCode.Exclude
@@ -0,0 +1,17 @@
+package com.applyfollow.backend.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id'yi insert öncesi UUIDv7 ile üretir (GenerationType.UUID yerine).
+ */
+@IdGeneratorType(UuidV7IdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface UuidV7Id {
+}
@@ -1,5 +1,6 @@
 package com.applyfollow.backend.repository;
 
+import com.applyfollow.backend.dto.ApplicationResponse;
 import com.applyfollow.backend.model.Application;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -7,15 +8,86 @@ import java.util.UUID;
 import java.util.List;
 import java.util.Optional;
 
-public interface ApplicationRepository extends JpaRepository<Application, UUID> {
-    @org.springframework.data.jpa.repository.Query("SELECT a FROM Application a JOIN FETCH a.company WHERE a.user.id = :userId ORDER BY a.appliedAt DESC")
-    List<Application> findAllByUserId(UUID userId);
+public interface ApplicationRepository extends JpaRepository<Application, UUID>, ApplicationRepositoryCustom {
 
-    // Duplicate kontrolü için
-    Optional<Application> findByUserIdAndCompany_NameAndPosition(UUID userId, String companyName, String position);
+    // Salt okunur listeleme: entity/persistence context yerine doğrudan DTO
+    String RESPONSE_SELECT = "SELECT new com.applyfollow.backend.dto.ApplicationResponse("
+            + "a.id, a.position, a.status, a.jobUrl, a.notes, a.appliedAt, "
+            + "c.id, c.name, c.website, c.linkedinUrl, c.logoUrl, c.createdAt) "
+            + "FROM Application a JOIN a.company c ";
+
+    @org.springframework.data.jpa.repository.Query(RESPONSE_SELECT
+            + "WHERE a.user.id = :userId ORDER BY a.appliedAt DESC, a.id DESC")
+    List<ApplicationResponse> findAllByUserId(@org.springframework.data.repository.query.Param("userId") UUID userId);
+
+    @org.springframework.data.jpa.repository.Query(RESPONSE_SELECT + "WHERE a.id = :id AND a.user.id = :userId")
+    Optional<ApplicationResponse> findResponseByIdAndUserId(@org.springframework.data.repository.query.Param("id") UUID id, @org.springframework.data.repository.query.Param("userId") UUID userId);
+
+    String CREATED_ROW_COLUMNS = "id, company_id AS \"companyId\", position, status, job_url AS \"jobUrl\", notes, "
+            + "applied_at AS \"appliedAt\"";
+
+    /**
+     * Tek ifadede oluşturma: yeni satır eklenir, (user, company, normalize pozisyon) veya idempotency key
+     * çakışırsa var olan satır döner. Eşzamanlı bir transaction çakışan satırı bu ifadenin snapshot'ından
+     * sonra commit ettiyse sonuç boş olabilir; çağıran tekrar dener. created yeni satırda true döner.
+     */
+    @org.springframework.data.jpa.repository.Query(value = "WITH inserted AS ("
+            + "INSERT INTO applications (id, created_at, updated_at, user_id, company_id, position, status, job_url, "
+            + "notes, applied_at, idempotency_key) VALUES (:id, :now, :now, :userId, :companyId, :position, :status, "
+            + ":jobUrl, :notes, :appliedAt, :idempotencyKey) ON CONFLICT DO NOTHING RETURNING *) "
+            + "SELECT " + CREATED_ROW_COLUMNS + ", true AS created FROM inserted "
+            + "UNION ALL (SELECT " + CREATED_ROW_COLUMNS + ", false AS created FROM applications WHERE user_id = :userId "
+            + "AND (idempotency_key = :idempotencyKey "
+            + "OR (company_id = :companyId AND lower(btrim(position)) = lower(btrim(:position)))) "
+            + "ORDER BY idempotency_key = :idempotencyKey DESC NULLS LAST LIMIT 1) LIMIT 1", nativeQuery = true)
+    Optional<CreatedRow> insertOrFindExisting(@org.springframework.data.repository.query.Param("id") UUID id,
+            @org.springframework.data.repository.query.Param("now") java.time.LocalDateTime now,
+            @org.springframework.data.repository.query.Param("userId") UUID userId,
+            @org.springframework.data.repository.query.Param("companyId") UUID companyId,
+            @org.springframework.data.repository.query.Param("position") String position,
+            @org.springframework.data.repository.query.Param("status") String status,
+            @org.springframework.data.repository.query.Param("jobUrl") String jobUrl,
+            @org.springframework.data.repository.query.Param("notes") String notes,
+            @org.springframework.data.repository.query.Param("appliedAt") java.time.LocalDateTime appliedAt,
+            @org.springframework.data.repository.query.Param("idempotencyKey") String idempotencyKey);
 
     boolean existsByIdAndUser_Id(UUID id, UUID userId);
 
+    /**
+     * Şirket birleştirme: bir batch başvuruyu hedef şirkete taşır. Kilitli satırlar atlanır;
+     * kullanıcının hedef şirkette aynı pozisyonda başvurusu varsa (unique index) satır taşınmaz.
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE applications SET company_id = :to WHERE id IN ("
+            + "SELECT a.id FROM applications a WHERE a.company_id = :from AND NOT EXISTS ("
+            + "SELECT 1 FROM applications s WHERE s.user_id = a.user_id AND s.company_id = :to "
+            + "AND lower(btrim(s.position)) = lower(btrim(a.position))) "
+            + "LIMIT :batchSize FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int repointCompanyBatch(@org.springframework.data.repository.query.Param("from") UUID from,
+            @org.springframework.data.repository.query.Param("to") UUID to,
+            @org.springframework.data.repository.query.Param("batchSize") int batchSize);
+
+    long countByCompany_Id(UUID companyId);
+
+    // Güncelleme yolları için managed entity; şirket yanıtta kullanıldığı için birlikte yüklenir
     @org.springframework.data.jpa.repository.Query("SELECT a FROM Application a JOIN FETCH a.company JOIN FETCH a.user WHERE a.id = :id AND a.user.id = :userId")
     Optional<Application> findByIdAndUserId(@org.springframework.data.repository.query.Param("id") UUID id, @org.springframework.data.repository.query.Param("userId") UUID userId);
+
+    interface CreatedRow {
+        UUID getId();
+
+        UUID getCompanyId();
+
+        String getPosition();
+
+        String getStatus();
+
+        String getJobUrl();
+
+        String getNotes();
+
+        java.time.LocalDateTime getAppliedAt();
+
+        Boolean getCreated();
+    }
 }
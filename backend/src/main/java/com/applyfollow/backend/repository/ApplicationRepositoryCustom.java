@@ -0,0 +1,19 @@
+package com.applyfollow.backend.repository;
+
+import com.applyfollow.backend.dto.ApplicationFilter;
+import com.applyfollow.backend.dto.ApplicationResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ApplicationRepositoryCustom {
+
+    /**
+     * (appliedAt DESC, id DESC) sıralı keyset sayfası. afterAppliedAt/afterId null ise ilk sayfa döner.
+     * Sadece verilen filtreler sorguya eklenir, böylece her filtre kendi index'ini kullanabilir.
+     * Sonuç doğrudan DTO olarak okunur; persistence context'e entity girmez.
+     */
+    List<ApplicationResponse> findPage(UUID userId, ApplicationFilter filter, LocalDateTime afterAppliedAt, UUID afterId,
+            int limit);
+}
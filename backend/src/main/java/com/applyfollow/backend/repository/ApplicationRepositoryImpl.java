@@ -0,0 +1,85 @@
+package com.applyfollow.backend.repository;
+
+import com.applyfollow.backend.dto.ApplicationFilter;
+import com.applyfollow.backend.dto.ApplicationResponse;
+import com.applyfollow.backend.model.Application;
+import com.applyfollow.backend.model.Company;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ApplicationResponse> findPage(UUID userId, ApplicationFilter filter, LocalDateTime afterAppliedAt,
+            UUID afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ApplicationResponse> query = cb.createQuery(ApplicationResponse.class);
+        Root<Application> application = query.from(Application.class);
+        Join<Application, Company> company = application.join("company");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(application.get("user").get("id"), userId));
+
+        if (filter.status() != null) {
+            predicates.add(cb.equal(application.get("status"), filter.status()));
+        }
+        if (filter.companyId() != null) {
+            predicates.add(cb.equal(application.get("company").get("id"), filter.companyId()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(application.get("appliedAt"), filter.from().atStartOfDay()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(application.get("appliedAt"), filter.to().plusDays(1).atStartOfDay()));
+        }
+        if (filter.q() != null && !filter.q().isBlank()) {
+            // lower(...) LIKE '%q%' trigram index'leri ile karşılanır (V3 migration)
+            String pattern = "%" + escapeLike(filter.q().trim().toLowerCase(Locale.ROOT)) + "%";
+            Subquery<UUID> matchingCompanies = query.subquery(UUID.class);
+            Root<Company> matching = matchingCompanies.from(Company.class);
+            matchingCompanies.select(matching.get("id"))
+                    .where(cb.like(cb.lower(matching.get("name")), pattern, '\\'));
+            predicates.add(cb.or(
+                    cb.like(cb.lower(application.get("position")), pattern, '\\'),
+                    application.get("company").get("id").in(matchingCompanies)));
+        }
+        if (afterAppliedAt != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(application.get("appliedAt"), afterAppliedAt),
+                    cb.and(cb.equal(application.get("appliedAt"), afterAppliedAt),
+                            cb.lessThan(application.get("id"), afterId))));
+        }
+
+        // ApplicationRepository.RESPONSE_SELECT ile aynı kolon sırası
+        query.select(cb.construct(ApplicationResponse.class,
+                        application.get("id"), application.get("position"), application.get("status"),
+                        application.get("jobUrl"), application.get("notes"), application.get("appliedAt"),
+                        company.get("id"), company.get("name"), company.get("website"),
+                        company.get("linkedinUrl"), company.get("logoUrl"), company.get("createdAt")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(application.get("appliedAt")), cb.desc(application.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
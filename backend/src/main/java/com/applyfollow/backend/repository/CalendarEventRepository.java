@@ -2,20 +2,94 @@ package com.applyfollow.backend.repository;
 
 import com.applyfollow.backend.model.CalendarEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface CalendarEventRepository extends JpaRepository<CalendarEvent, UUID> {
     List<CalendarEvent> findAllByUserId(UUID userId);
 
-    @org.springframework.data.jpa.repository.Query("SELECT e FROM CalendarEvent e JOIN FETCH e.user " +
-            "WHERE e.hasAlarm = true AND e.notified = false AND " +
-            "(e.date < :d1 OR (e.date = :d2 AND e.alarmTime <= :t2))")
-    List<CalendarEvent> findEventsToNotify(LocalDate d1, LocalDate d2, LocalTime t2);
+    // Alarm zamanı: alarm saati yoksa etkinlik gününün sonu (NotificationScheduler.fireAt ile aynı)
+    String FIRE_AT = "(date + coalesce(alarm_time, time '24:00'))";
+
+    // Reminder kuyruğunu doldurmak için sadece id ve zaman bilgisi okunur.
+    // Alarmlar alarm zamanı sırasıyla (fire_at, id) keyset sayfalama ile parça parça okunur;
+    // önce zamanı en yakın olanlar gelir.
+    @Query(value = "SELECT id, date, alarm_time AS \"alarmTime\" FROM calendar_events "
+            + "WHERE has_alarm = true AND notified = false "
+            + "AND (" + FIRE_AT + ", id) > (:afterFireAt, :afterId) AND " + FIRE_AT + " <= :until "
+            + "ORDER BY " + FIRE_AT + ", id LIMIT :limit", nativeQuery = true)
+    List<AlarmSlot> findPendingAlarmsAfter(@Param("afterFireAt") LocalDateTime afterFireAt,
+            @Param("afterId") UUID afterId, @Param("until") LocalDateTime until, @Param("limit") int limit);
+
+    // Birden fazla instance aynı alarmı göndermesin: kilitli veya lease'i süren satırlar atlanır
+    @Query(value = "SELECT id FROM calendar_events WHERE id IN (:ids) AND has_alarm = true AND notified = false "
+            + "AND (reminder_lease_until IS NULL OR reminder_lease_until < :now) "
+            + "LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> findClaimableForUpdate(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now,
+            @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("UPDATE CalendarEvent e SET e.reminderLeaseUntil = :leaseUntil WHERE e.id IN :ids")
+    int leaseReminders(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Digest açık kullanıcıların pencere içindeki diğer alarmları da aynı mail için claim edilir
+    @Query(value = "SELECT e.id FROM calendar_events e JOIN users u ON u.id = e.user_id "
+            + "WHERE u.reminder_digest = true AND e.user_id IN (SELECT c.user_id FROM calendar_events c WHERE c.id IN (:ids)) "
+            + "AND e.id NOT IN (:ids) AND e.has_alarm = true AND e.notified = false "
+            + "AND (e.reminder_lease_until IS NULL OR e.reminder_lease_until < :now) "
+            + "AND (e.date < :date OR (e.date = :date AND e.alarm_time <= :time)) "
+            + "FOR UPDATE OF e SKIP LOCKED", nativeQuery = true)
+    List<UUID> findDigestCandidatesForUpdate(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now,
+            @Param("date") LocalDate date, @Param("time") LocalTime time);
 
-    boolean existsByHasAlarmTrueAndNotifiedFalse();
+    // Mail için gereken alanlar; kullanıcının büyük TEXT kolonları yüklenmez
+    @Query("SELECT e.id AS id, e.title AS title, e.date AS date, e.time AS time, e.alarmTime AS alarmTime, " +
+            "e.notes AS notes, u.id AS userId, u.email AS email, u.fullName AS fullName, " +
+            "u.reminderDigest AS reminderDigest " +
+            "FROM CalendarEvent e JOIN e.user u WHERE e.id IN :ids AND e.hasAlarm = true AND e.notified = false")
+    List<ReminderView> findRemindersByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE CalendarEvent e SET e.notified = true, e.reminderLeaseUntil = null WHERE e.id IN :ids")
+    int markNotified(@Param("ids") Collection<UUID> ids);
 
     long countByUserIdAndDate(UUID userId, LocalDate date);
+
+    interface AlarmSlot {
+        UUID getId();
+
+        LocalDate getDate();
+
+        LocalTime getAlarmTime();
+    }
+
+    interface ReminderView {
+        UUID getId();
+
+        String getTitle();
+
+        LocalDate getDate();
+
+        LocalTime getTime();
+
+        LocalTime getAlarmTime();
+
+        String getNotes();
+
+        UUID getUserId();
+
+        String getEmail();
+
+        String getFullName();
+
+        boolean getReminderDigest();
+    }
 }
@@ -2,10 +2,130 @@ package com.applyfollow.backend.repository;
 
 import com.applyfollow.backend.model.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CompanyRepository extends JpaRepository<Company, UUID> {
-    Optional<Company> findByNameIgnoreCase(String name);
-}
 
+    String COMPANY_ROW_COLUMNS = "id, name, website, linkedin_url AS \"linkedinUrl\", logo_url AS \"logoUrl\", "
+            + "created_at AS \"createdAt\"";
+
+    /**
+     * Aynı normalize ad için findOrInsertByNormalizedName çağrılarını transaction sonuna kadar sıraya sokar.
+     * Ayrı bir ifade olmalı: READ COMMITTED'da ifadenin snapshot'ı lock beklemeden önce alınır, sonraki ifade
+     * ise bekleme sırasında commit edilen satırı görür.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(lower(btrim(:name))))) l", nativeQuery = true)
+    int lockNormalizedName(@Param("name") String name);
+
+    /**
+     * Tek ifadede findOrCreate: normalize adla (lower(btrim(name))) eşleşen şirket veya alias varsa o, yoksa yeni satır döner.
+     * Normalize index unique değildir; "Acme" ve "acme" eşzamanlı eklenmesin diye önce lockNormalizedName çağrılmalıdır.
+     * Aynı adla eşzamanlı eklemede ON CONFLICT satırı atlar; çakışan satır bu ifadenin snapshot'ından sonra
+     * commit edildiyse sonuç boş olabilir, çağıran tekrar dener.
+     */
+    @Query(value = "WITH existing AS ((SELECT " + COMPANY_ROW_COLUMNS + " FROM companies "
+            + "WHERE lower(btrim(name)) = lower(btrim(:name)) ORDER BY created_at, id LIMIT 1) "
+            // Birleştirilmiş (silinmiş) şirketin adı hayatta kalan şirkete yönlenir
+            + "UNION ALL (SELECT c.id, c.name, c.website, c.linkedin_url, c.logo_url, c.created_at "
+            + "FROM company_aliases al JOIN companies c ON c.id = al.company_id WHERE al.alias = lower(btrim(:name))) "
+            + "LIMIT 1), "
+            + "inserted AS (INSERT INTO companies (id, created_at, updated_at, name) "
+            + "SELECT :id, :now, :now, :name WHERE NOT EXISTS (SELECT 1 FROM existing) "
+            + "ON CONFLICT (name) DO NOTHING RETURNING " + COMPANY_ROW_COLUMNS + ") "
+            + "SELECT * FROM existing UNION ALL SELECT * FROM inserted LIMIT 1", nativeQuery = true)
+    Optional<CompanyRow> findOrInsertByNormalizedName(@Param("id") UUID id, @Param("now") LocalDateTime now,
+            @Param("name") String name);
+
+    // Önbelleği ısıtmak için en çok başvuruda kullanılan şirketler
+    @Query(value = "SELECT " + COMPANY_ROW_COLUMNS + " FROM companies c JOIN ("
+            + "SELECT company_id, count(*) AS uses FROM applications GROUP BY company_id "
+            + "ORDER BY uses DESC LIMIT :limit) popular ON popular.company_id = c.id", nativeQuery = true)
+    List<CompanyRow> findMostUsed(@Param("limit") int limit);
+
+    // Öneri index'i için şirketler kullanım sayısına göre; limit dışında kalanlar veritabanından aranır
+    @Query(value = "SELECT c.id, c.name, c.logo_url AS \"logoUrl\", count(a.id) AS \"usageCount\" "
+            + "FROM companies c LEFT JOIN applications a ON a.company_id = c.id "
+            + "GROUP BY c.id ORDER BY count(a.id) DESC LIMIT :limit", nativeQuery = true)
+    List<SuggestionRow> findSuggestionRows(@Param("limit") int limit);
+
+    // Öneri index'i hazır değilken veya tüm şirketleri kapsamıyorken: lower(name) trigram index'i ile önek araması
+    @Query(value = "SELECT c.id, c.name, c.logo_url AS \"logoUrl\", "
+            + "(SELECT count(*) FROM applications a WHERE a.company_id = c.id) AS \"usageCount\" "
+            + "FROM companies c WHERE lower(c.name) LIKE :prefix ESCAPE '\\' "
+            + "ORDER BY \"usageCount\" DESC, c.name LIMIT :limit", nativeQuery = true)
+    List<SuggestionRow> findSuggestionsByPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    // Tekilleştirme işi için keyset ile sayfalı okuma
+    @Query(value = "SELECT c.id, c.name, c.created_at AS \"createdAt\", "
+            + "(SELECT count(*) FROM applications a WHERE a.company_id = c.id) AS \"usageCount\" "
+            + "FROM companies c WHERE c.id > :afterId ORDER BY c.id LIMIT :limit", nativeQuery = true)
+    List<DedupRow> findDedupCandidates(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO company_aliases (alias, company_id, created_at) "
+            + "VALUES (lower(btrim(:alias)), :companyId, :now) "
+            + "ON CONFLICT (alias) DO UPDATE SET company_id = EXCLUDED.company_id", nativeQuery = true)
+    int upsertAlias(@Param("alias") String alias, @Param("companyId") UUID companyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE company_aliases SET company_id = :to WHERE company_id = :from", nativeQuery = true)
+    int repointAliases(@Param("from") UUID from, @Param("to") UUID to);
+
+    // Başvurusu kalmamışsa siler; eşzamanlı bir başvuru eklendiyse 0 döner veya FK hatası verir
+    @Modifying
+    @Query(value = "DELETE FROM companies c WHERE c.id = :id "
+            + "AND NOT EXISTS (SELECT 1 FROM applications a WHERE a.company_id = :id)", nativeQuery = true)
+    int deleteIfUnused(@Param("id") UUID id);
+
+    // Zenginleştirme sonucu; kullanıcı/başka kaynak tarafından doldurulmuş alanların üzerine yazılmaz
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE companies SET website = COALESCE(website, :website), "
+            + "linkedin_url = COALESCE(linkedin_url, :linkedinUrl), logo_url = COALESCE(logo_url, :logoUrl), "
+            + "updated_at = :now WHERE id = :id", nativeQuery = true)
+    int updateEnrichment(@Param("id") UUID id, @Param("website") String website,
+            @Param("linkedinUrl") String linkedinUrl, @Param("logoUrl") String logoUrl,
+            @Param("now") LocalDateTime now);
+
+    interface DedupRow {
+        UUID getId();
+
+        String getName();
+
+        LocalDateTime getCreatedAt();
+
+        long getUsageCount();
+    }
+
+    interface SuggestionRow {
+        UUID getId();
+
+        String getName();
+
+        String getLogoUrl();
+
+        long getUsageCount();
+    }
+
+    interface CompanyRow {
+        UUID getId();
+
+        String getName();
+
+        String getWebsite();
+
+        String getLinkedinUrl();
+
+        String getLogoUrl();
+
+        LocalDateTime getCreatedAt();
+    }
+}
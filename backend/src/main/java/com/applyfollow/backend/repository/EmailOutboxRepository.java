@@ -0,0 +1,30 @@
+package com.applyfollow.backend.repository;
+
+import com.applyfollow.backend.model.EmailOutbox;
+import com.applyfollow.backend.model.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    // Birden fazla instance aynı satırları almasın diye kilitli satırlar atlanır
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> findDueForUpdate(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    // Gönderim sürerken başka bir dispatcher'ın aynı satırı tekrar almasını engeller
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    boolean existsByStatus(EmailOutboxStatus status);
+}
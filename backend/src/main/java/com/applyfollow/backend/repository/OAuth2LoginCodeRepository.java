@@ -0,0 +1,32 @@
+package com.applyfollow.backend.repository;
+
+import com.applyfollow.backend.model.OAuth2LoginCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OAuth2LoginCodeRepository extends JpaRepository<OAuth2LoginCode, UUID> {
+
+    @Query("SELECT c FROM OAuth2LoginCode c JOIN FETCH c.user WHERE c.codeHash = :codeHash")
+    Optional<OAuth2LoginCode> findByCodeHashWithUser(@Param("codeHash") String codeHash);
+
+    // Koşulsuz silme: iki eşzamanlı değişimden sadece biri 1 döner
+    @Modifying
+    @Query("DELETE FROM OAuth2LoginCode c WHERE c.id = :id")
+    int consume(@Param("id") UUID id);
+
+    // Tek seferde tüm tabloyu kilitlememek için sabit boyutlu parçalar halinde siler
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM oauth2_login_codes WHERE id IN "
+            + "(SELECT id FROM oauth2_login_codes WHERE expiry_date < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
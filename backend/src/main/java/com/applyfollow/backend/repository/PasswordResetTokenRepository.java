@@ -3,7 +3,11 @@ package com.applyfollow.backend.repository;
 import com.applyfollow.backend.model.PasswordResetToken;
 import com.applyfollow.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -11,11 +15,16 @@ import java.util.UUID;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, UUID> {
-    Optional<PasswordResetToken> findByToken(String token);
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
 
     Optional<PasswordResetToken> findByUser(User user);
 
-    void deleteByExpiryDateBefore(LocalDateTime now);
+    // Tek seferde tüm tabloyu kilitlememek için sabit boyutlu parçalar halinde siler
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM password_reset_tokens WHERE id IN "
+            + "(SELECT id FROM password_reset_tokens WHERE expiry_date < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 
     void deleteByUser(User user);
 }
@@ -22,4 +22,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
         org.springframework.data.domain.Page<User> findByEmailContainingIgnoreCase(String email,
                         org.springframework.data.domain.Pageable pageable);
+
+        // Stateless JWT modunda SecurityVersionRegistry'yi doldurmak için: [id, securityVersion]
+        @org.springframework.data.jpa.repository.Query("SELECT u.id, u.securityVersion FROM User u WHERE u.securityVersion > 0")
+        java.util.List<Object[]> findNonZeroSecurityVersions();
 }
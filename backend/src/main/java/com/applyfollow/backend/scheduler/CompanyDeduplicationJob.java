@@ -0,0 +1,332 @@
+package com.applyfollow.backend.scheduler;
+
+import com.applyfollow.backend.dto.CompanyDedupReport;
+import com.applyfollow.backend.exception.ServiceUnavailableException;
+import com.applyfollow.backend.repository.ApplicationRepository;
+import com.applyfollow.backend.repository.CompanyRepository;
+import com.applyfollow.backend.service.CompanyNameCache;
+import com.applyfollow.backend.service.CompanySuggestIndex;
+import com.applyfollow.backend.util.CompanyNameNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aynı şirketin farklı yazımlarını ("Google", "Google LLC", "google inc.") tek kayıtta birleştirir.
+ *
+ * Adlar CompanyNameNormalizer ile kanonik hale getirilir, ilk kelimeye göre bloklanır ve blok içinde
+ * trigram benzerliği eşiği geçenler gruplanır. Her grupta en çok kullanılan (eşitse en eski) şirket kalır;
+ * diğerlerinin başvuruları küçük batch'ler halinde, her biri kendi transaction'ında ve SKIP LOCKED ile
+ * taşınır, böylece uzun süren kilitler oluşmaz. Eski ad alias olarak saklanır ve boşalan şirket silinir.
+ * Kullanıcının hedef şirkette aynı pozisyonda başvurusu varsa o satır taşınmaz ve şirket raporda atlanmış görünür.
+ * Birden fazla instance'ta aynı anda tek çalışma olur: çalışma süresince bir bağlantıda Postgres advisory lock tutulur.
+ */
+@Component
+@Slf4j
+public class CompanyDeduplicationJob {
+
+    public static final int MAX_REPORTED_GROUPS = 500;
+    private static final int PAGE_SIZE = 1000;
+    private static final UUID MIN_UUID = new UUID(0, 0);
+    // "company" ASCII; tüm instance'larda aynı olmalı
+    private static final long ADVISORY_LOCK_KEY = 0x636f6d70616e79L;
+
+    private final CompanyRepository companyRepository;
+    private final ApplicationRepository applicationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final CompanyNameCache companyNameCache;
+    private final CompanySuggestIndex companySuggestIndex;
+    private final MeterRegistry meterRegistry;
+    private final double similarityThreshold;
+    private final int batchSize;
+    private final int maxBlockSize;
+    private final boolean scheduledDryRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public CompanyDeduplicationJob(CompanyRepository companyRepository,
+            ApplicationRepository applicationRepository,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate,
+            CompanyNameCache companyNameCache,
+            CompanySuggestIndex companySuggestIndex,
+            MeterRegistry meterRegistry,
+            @Value("${application.companies.dedup.similarity-threshold:0.8}") double similarityThreshold,
+            @Value("${application.companies.dedup.batch-size:500}") int batchSize,
+            @Value("${application.companies.dedup.max-block-size:200}") int maxBlockSize,
+            @Value("${application.companies.dedup.dry-run:true}") boolean scheduledDryRun) {
+        this.companyRepository = companyRepository;
+        this.applicationRepository = applicationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.companyNameCache = companyNameCache;
+        this.companySuggestIndex = companySuggestIndex;
+        this.meterRegistry = meterRegistry;
+        this.similarityThreshold = similarityThreshold;
+        this.batchSize = batchSize;
+        this.maxBlockSize = maxBlockSize;
+        this.scheduledDryRun = scheduledDryRun;
+    }
+
+    // Varsayılan olarak kapalı ("-"); açıldığında dry-run ayarına göre sadece rapor üretir veya birleştirir
+    @Scheduled(cron = "${application.companies.dedup.cron:-}")
+    public void scheduledRun() {
+        try {
+            run(scheduledDryRun);
+        } catch (ServiceUnavailableException e) {
+            log.info("Scheduled company dedup skipped: {}", e.getMessage());
+        }
+    }
+
+    public CompanyDedupReport run(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ServiceUnavailableException("Company deduplication is already running", 60);
+        }
+        try {
+            // Session seviyesindeki lock aynı bağlantıda alınıp bırakılmalı; birleştirme transaction'ları
+            // havuzdan kendi bağlantılarını alır
+            return jdbcTemplate.execute((ConnectionCallback<CompanyDedupReport>) connection -> {
+                if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                    throw new ServiceUnavailableException(
+                            "Company deduplication is already running on another instance", 60);
+                }
+                try {
+                    return execute(dryRun);
+                } finally {
+                    advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+                }
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private CompanyDedupReport execute(boolean dryRun) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+
+        List<Candidate> candidates = loadCandidates();
+        List<List<Candidate>> groups = findDuplicateGroups(candidates);
+
+        List<CompanyDedupReport.Group> reported = new ArrayList<>();
+        int merged = 0;
+        int skipped = 0;
+        long repointed = 0;
+        for (List<Candidate> group : groups) {
+            Candidate survivor = group.get(0);
+            List<CompanyDedupReport.Duplicate> duplicates = new ArrayList<>();
+            for (Candidate duplicate : group.subList(1, group.size())) {
+                duplicates.add(new CompanyDedupReport.Duplicate(duplicate.id(), duplicate.name(), duplicate.usage(),
+                        CompanyNameNormalizer.similarity(survivor.normalized(), duplicate.normalized())));
+                if (dryRun) {
+                    continue;
+                }
+                MergeResult result = merge(duplicate, survivor);
+                repointed += result.repointed();
+                if (result.merged()) {
+                    merged++;
+                } else {
+                    skipped++;
+                }
+            }
+            if (reported.size() < MAX_REPORTED_GROUPS) {
+                reported.add(new CompanyDedupReport.Group(survivor.id(), survivor.name(), survivor.usage(),
+                        duplicates));
+            }
+            if (dryRun) {
+                log.info("Company dedup dry-run: '{}' <- {}", survivor.name(),
+                        duplicates.stream().map(CompanyDedupReport.Duplicate::name).toList());
+            }
+        }
+
+        if (merged > 0) {
+            // Silinen şirketler önerilerden hemen kalksın
+            companySuggestIndex.refresh();
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        sample.stop(meterRegistry.timer("companies.dedup.duration", "dryRun", String.valueOf(dryRun)));
+        meterRegistry.counter("companies.dedup.merged").increment(merged);
+        meterRegistry.counter("companies.dedup.skipped").increment(skipped);
+        log.info("Company dedup {}: scanned {} companies, {} duplicate groups, merged {}, skipped {}, "
+                + "repointed {} applications in {} ms ({} companies/s)",
+                dryRun ? "dry-run" : "run", candidates.size(), groups.size(), merged, skipped, repointed, elapsed,
+                candidates.size() * 1000L / elapsed);
+
+        return new CompanyDedupReport(dryRun, candidates.size(), groups.size(), merged, repointed, skipped, elapsed,
+                reported);
+    }
+
+    private List<Candidate> loadCandidates() {
+        List<Candidate> candidates = new ArrayList<>();
+        UUID afterId = MIN_UUID;
+        List<CompanyRepository.DedupRow> page;
+        do {
+            page = companyRepository.findDedupCandidates(afterId, PAGE_SIZE);
+            for (CompanyRepository.DedupRow row : page) {
+                String normalized = CompanyNameNormalizer.normalize(row.getName());
+                if (!normalized.isEmpty()) {
+                    candidates.add(new Candidate(row.getId(), row.getName(), row.getCreatedAt(), row.getUsageCount(),
+                            normalized));
+                }
+                afterId = row.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return candidates;
+    }
+
+    /**
+     * Her grubun ilk elemanı hayatta kalacak şirkettir.
+     */
+    List<List<Candidate>> findDuplicateGroups(List<Candidate> candidates) {
+        Map<String, List<Candidate>> blocks = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            blocks.computeIfAbsent(CompanyNameNormalizer.blockingKey(candidate.normalized()), key -> new ArrayList<>())
+                    .add(candidate);
+        }
+
+        Comparator<Candidate> survivorFirst = Comparator.comparingLong(Candidate::usage).reversed()
+                .thenComparing(Candidate::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Candidate::id);
+
+        List<List<Candidate>> groups = new ArrayList<>();
+        for (List<Candidate> block : blocks.values()) {
+            if (block.size() < 2) {
+                continue;
+            }
+            int[] parent = new int[block.size()];
+            for (int i = 0; i < parent.length; i++) {
+                parent[i] = i;
+            }
+            if (block.size() > maxBlockSize) {
+                // Çok büyük bloklarda ikili karşılaştırma pahalı: sadece normalize adı birebir aynı olanlar
+                Map<String, Integer> first = new HashMap<>();
+                for (int i = 0; i < block.size(); i++) {
+                    Integer j = first.putIfAbsent(block.get(i).normalized(), i);
+                    if (j != null) {
+                        union(parent, i, j);
+                    }
+                }
+            } else {
+                for (int i = 0; i < block.size(); i++) {
+                    for (int j = i + 1; j < block.size(); j++) {
+                        if (CompanyNameNormalizer.similarity(block.get(i).normalized(),
+                                block.get(j).normalized()) >= similarityThreshold) {
+                            union(parent, i, j);
+                        }
+                    }
+                }
+            }
+
+            Map<Integer, List<Candidate>> byRoot = new LinkedHashMap<>();
+            for (int i = 0; i < block.size(); i++) {
+                byRoot.computeIfAbsent(find(parent, i), key -> new ArrayList<>()).add(block.get(i));
+            }
+            for (List<Candidate> group : byRoot.values()) {
+                if (group.size() > 1) {
+                    group.sort(survivorFirst);
+                    groups.add(group);
+                }
+            }
+        }
+        groups.sort(Comparator.comparing((List<Candidate> group) -> group.get(0).normalized()));
+        return groups;
+    }
+
+    private MergeResult merge(Candidate duplicate, Candidate survivor) {
+        long repointed = 0;
+        int moved;
+        do {
+            try {
+                moved = transactionTemplate.execute(
+                        status -> applicationRepository.repointCompanyBatch(duplicate.id(), survivor.id(), batchSize));
+            } catch (DataIntegrityViolationException e) {
+                // Batch sırasında kullanıcı hedef şirkette aynı pozisyonu oluşturdu; batch geri alındı,
+                // şirket atlanır ve bir sonraki çalışmada tekrar denenir
+                log.info("Company '{}' not merged into '{}': concurrent application conflicts with the move",
+                        duplicate.name(), survivor.name());
+                return new MergeResult(false, repointed);
+            }
+            repointed += moved;
+            meterRegistry.counter("companies.dedup.applications.repointed").increment(moved);
+        } while (moved > 0);
+
+        boolean merged;
+        try {
+            merged = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                // Kilitli olduğu için atlanan veya aynı pozisyon çakışması olan başvurular kaldıysa şirket kalır
+                if (applicationRepository.countByCompany_Id(duplicate.id()) > 0) {
+                    return false;
+                }
+                companyRepository.upsertAlias(duplicate.name(), survivor.id(), LocalDateTime.now());
+                companyRepository.repointAliases(duplicate.id(), survivor.id());
+                if (companyRepository.deleteIfUnused(duplicate.id()) == 0) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Bu arada şirkete yeni bir başvuru bağlandı; bir sonraki çalışmada tekrar denenir
+            merged = false;
+        }
+
+        if (merged) {
+            // Silinen şirkete çözülen tüm adlar (alias'lar dahil) düşer
+            companyNameCache.evictCompany(duplicate.id());
+        } else {
+            log.info("Company '{}' not merged into '{}': applications remain (locked or same position)",
+                    duplicate.name(), survivor.name());
+        }
+        return new MergeResult(merged, repointed);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+
+    record Candidate(UUID id, String name, LocalDateTime createdAt, long usage, String normalized) {
+    }
+
+    private record MergeResult(boolean merged, long repointed) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.applyfollow.backend.scheduler;
+
+import com.applyfollow.backend.exception.CircuitOpenException;
+import com.applyfollow.backend.model.EmailFormat;
+import com.applyfollow.backend.model.EmailOutbox;
+import com.applyfollow.backend.service.EmailOutboxService;
+import com.applyfollow.backend.service.EmailService;
+import com.applyfollow.backend.service.MailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * email_outbox tablosunu batch'ler halinde boşaltır. Her mesaj transaction
+ * dışında gönderilir; sonucu ayrı kısa bir transaction ile yazılır.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService outboxService;
+    private final EmailService emailService;
+    private final MailService mailService;
+    private final int batchSize;
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService, EmailService emailService,
+            MailService mailService, @Value("${application.email.outbox.batch-size:50}") int batchSize) {
+        this.outboxService = outboxService;
+        this.emailService = emailService;
+        this.mailService = mailService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${application.email.outbox.poll-interval:2000}")
+    public void dispatch() {
+        if (!outboxService.takePendingHint()) {
+            return; // Yeni mesaj veya bekleyen retry yoksa veritabanına sorgu atma
+        }
+
+        List<EmailOutbox> batch = outboxService.claimBatch(batchSize);
+        for (EmailOutbox message : batch) {
+            try {
+                deliver(message);
+                outboxService.markSent(message);
+            } catch (CircuitOpenException e) {
+                // Sağlayıcı devre dışı: deneme hakkı harcanmaz, kalanlar lease bitince tekrar alınır
+                log.warn("Email dispatch paused: {}", e.getMessage());
+                outboxService.signalPending();
+                return;
+            } catch (Exception e) {
+                outboxService.markFailed(message, e.getMessage());
+            }
+        }
+
+        // Dolu batch veya backoff'ta bekleyen retry varsa bir sonraki turda tekrar bak
+        if (batch.size() == batchSize || outboxService.hasPendingMessages()) {
+            outboxService.signalPending();
+        }
+    }
+
+    private void deliver(EmailOutbox message) {
+        if (message.getFormat() == EmailFormat.HTML) {
+            emailService.deliver(message.getRecipient(), message.getSubject(), message.getBody());
+        } else {
+            mailService.deliver(message.getRecipient(), message.getSubject(), message.getBody());
+        }
+    }
+}
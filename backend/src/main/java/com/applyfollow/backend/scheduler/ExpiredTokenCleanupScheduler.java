@@ -0,0 +1,72 @@
+package com.applyfollow.backend.scheduler;
+
+import com.applyfollow.backend.repository.OAuth2LoginCodeRepository;
+import com.applyfollow.backend.repository.PasswordResetTokenRepository;
+import com.applyfollow.backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.BiFunction;
+
+/**
+ * Süresi dolmuş password reset ve refresh token'ları arka planda temizler.
+ * Silme sabit boyutlu batch'ler halinde, her batch kendi transaction'ında yapılır;
+ * böylece uzun süren kilitler ve şişen transaction log oluşmaz.
+ */
+@Component
+@Slf4j
+public class ExpiredTokenCleanupScheduler {
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final OAuth2LoginCodeRepository oAuth2LoginCodeRepository;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public ExpiredTokenCleanupScheduler(PasswordResetTokenRepository passwordResetTokenRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            OAuth2LoginCodeRepository oAuth2LoginCodeRepository,
+            MeterRegistry meterRegistry,
+            @Value("${application.token-cleanup.batch-size:500}") int batchSize,
+            @Value("${application.token-cleanup.max-batches:200}") int maxBatches) {
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.oAuth2LoginCodeRepository = oAuth2LoginCodeRepository;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(cron = "${application.token-cleanup.cron:0 */15 * * * *}")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        purge("password_reset", now, passwordResetTokenRepository::deleteExpiredBatch);
+        purge("refresh", now, refreshTokenRepository::deleteExpiredBatch);
+        purge("oauth2_login_code", now, oAuth2LoginCodeRepository::deleteExpiredBatch);
+    }
+
+    int purge(String type, LocalDateTime now, BiFunction<LocalDateTime, Integer, Integer> deleteBatch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int total = 0;
+        int batches = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch.apply(now, batchSize);
+            total += deleted;
+            batches++;
+        } while (deleted == batchSize && batches < maxBatches); // Kalan bir sonraki çalışmaya
+
+        sample.stop(meterRegistry.timer("tokens.purge.duration", "type", type));
+        meterRegistry.counter("tokens.purged", "type", type).increment(total);
+        if (total > 0) {
+            log.info("Purged {} expired {} tokens in {} batches", total, type, batches);
+        }
+        return total;
+    }
+}
@@ -1,18 +1,51 @@
 package com.applyfollow.backend.scheduler;
 
+import com.applyfollow.backend.config.ClusterSignalBus;
 import com.applyfollow.backend.model.CalendarEvent;
 import com.applyfollow.backend.repository.CalendarEventRepository;
 import com.applyfollow.backend.service.MailService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Alarm bildirimleri. Önümüzdeki birkaç saatin alarmları bellekteki
+ * ReminderQueue'da tutulur; saniyelik tick sadece kuyruğun başına bakar,
+ * veritabanına yalnızca zamanı gelmiş alarm varsa gidilir.
+ *
+ * Birden fazla instance çalışabilir: her instance aynı alarmları kuyruğa alır,
+ * göndermeden önce SKIP LOCKED ile claim eder ve lease koyar. Lease'i alamayan
+ * instance alarmı atlar; claim eden çökerse lease dolunca refill alarmı geri getirir.
+ * Yeni/silinen alarmlar ClusterSignalBus ile diğer instance'ların kuyruklarına da yansır.
+ *
+ * Kuyruk queue-capacity ile sınırlıdır ve doluyken en geç alarmlar düşer. Her refill pencereyi
+ * alarm zamanı sırasıyla baştan tarar, böylece zamanı en yakın alarmlar önce yüklenir. Kuyruk
+ * low-water üstündeyken ve tarama kuyruktaki en geç alarmı geçmişken sonraki sayfa okunmaz;
+ * tarama imleci saklanır ve tick'ler kuyruğu boşalttıkça kaldığı yerden devam eder. Böylece
+ * kesinti sonrası birikim belleğe tek seferde yüklenmez.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -20,68 +53,281 @@ public class NotificationScheduler {
 
     private final CalendarEventRepository eventRepository;
     private final MailService mailService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ClusterSignalBus signalBus;
 
-    // "Akıllı State": Veritabanına gitmeden önce bellekte bekleyen alarm var mı
-    // kontrol eder
-    private final AtomicBoolean hasPendingAlarms = new AtomicBoolean(false);
+    private final ReminderQueue queue = new ReminderQueue();
 
-    @jakarta.annotation.PostConstruct
+    // Kuyrukta tutulacak zaman penceresi; refill aralığından uzun olmalı
+    @Value("${application.reminders.horizon:21600000}")
+    private long horizonMillis;
+
+    @Value("${application.reminders.batch-size:100}")
+    private int batchSize;
+
+    @Value("${application.reminders.lease:120000}")
+    private long leaseMillis;
+
+    // Digest açık kullanıcının bu pencereye düşen alarmları da ilk alarmla birlikte tek mailde gider
+    @Value("${application.reminders.digest-window:1800000}")
+    private long digestWindowMillis;
+
+    @Value("${application.reminders.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Kuyruk bu sayının altına inince refill taramasının sonraki sayfası okunur
+    @Value("${application.reminders.low-water:1000}")
+    private int lowWaterMark;
+
+    // Devam eden refill taramasının (alarm zamanı, id) keyset imleci; null ise tarama yok
+    private final Object refillLock = new Object();
+    private ReminderQueue.Entry refillCursor;
+    private LocalDateTime refillUntil;
+
+    private static final ReminderQueue.Entry SCAN_START =
+            new ReminderQueue.Entry(LocalDate.EPOCH.atStartOfDay(), new UUID(0, 0));
+
+    @PostConstruct
     public void init() {
-        // Uygulama başlarken veritabanında bekleyen alarm (notified=false) var mı bak
-        boolean exists = eventRepository.existsByHasAlarmTrueAndNotifiedFalse();
-        hasPendingAlarms.set(exists);
-        log.info("Notification system initialized. Pending alarms exists: {}", exists);
+        queue.setCapacity(queueCapacity);
+        // Low-water kapasiteyi geçemez; dolu kuyrukta tarama ilerleyemez
+        lowWaterMark = Math.min(lowWaterMark, queueCapacity);
+        Gauge.builder("reminders.queue.size", queue, ReminderQueue::size).register(meterRegistry);
+        FunctionCounter.builder("reminders.queue.dropped", queue, ReminderQueue::dropped).register(meterRegistry);
+        int loaded = refillWindow();
+        log.info("Notification system initialized. {} alarms queued for the next {} minutes", loaded,
+                horizonMillis / 60000);
+
+        signalBus.subscribe(ClusterSignalBus.ALARM_SCHEDULED, new ClusterSignalBus.Listener() {
+            @Override
+            public void onSignal(String payload) {
+                String[] parts = payload.split(" ", 2);
+                queue.schedule(UUID.fromString(parts[0]), LocalDateTime.parse(parts[1]));
+            }
+
+            @Override
+            public void onResync() {
+                refill();
+            }
+        });
+        signalBus.subscribe(ClusterSignalBus.ALARM_CANCELLED, payload -> queue.cancel(UUID.fromString(payload)));
+    }
+
+    /**
+     * Yeni alarmı kuyruğa ekler. Transaction içindeyse commit sonrasına ertelenir,
+     * böylece henüz görünmeyen bir event için tetikleme olmaz.
+     */
+    public void schedule(CalendarEvent event) {
+        if (!event.isHasAlarm() || event.isNotified()) {
+            return;
+        }
+        LocalDateTime fireAt = fireAt(event.getDate(), event.getAlarmTime());
+        if (fireAt.isAfter(horizonEnd())) {
+            return; // Pencere dışı: periyodik refill zamanı gelince ekler
+        }
+
+        UUID eventId = event.getId();
+        // NOTIFY da transaction'a bağlı: diğer instance'lar da commit'ten sonra görür
+        signalBus.publish(ClusterSignalBus.ALARM_SCHEDULED, eventId + " " + fireAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.schedule(eventId, fireAt);
+                }
+            });
+        } else {
+            queue.schedule(eventId, fireAt);
+        }
     }
 
-    public void triggerCheck() {
-        hasPendingAlarms.set(true);
+    public void cancel(UUID eventId) {
+        queue.cancel(eventId);
+        signalBus.publish(ClusterSignalBus.ALARM_CANCELLED, eventId.toString());
     }
 
-    // Runs every minute
-    @Scheduled(fixedRate = 60000)
+    // Pencereyi ileri kaydırır: yeni giren alarmları ekler, kaçırılmış olanları tekrar yakalar
+    @Scheduled(fixedRateString = "${application.reminders.refill-interval:600000}",
+            initialDelayString = "${application.reminders.refill-interval:600000}")
+    public void refill() {
+        int loaded = refillWindow();
+        log.debug("Reminder window refilled with {} alarms, queue size {}", loaded, queue.size());
+    }
+
+    // Alarmlar alarm saatinden en fazla ~1 saniye sonra gönderilir.
+    // Birikmiş alarmlar (ör. kesinti sonrası) batch-size'lık parçalarla, her biri kendi
+    // kısa transaction'ında işlenir; bellek ve transaction süresi birikimden bağımsız kalır.
+    @Scheduled(fixedDelay = 1000)
     public void sendEventReminders() {
-        if (!hasPendingAlarms.get()) {
-            return; // Hiç alarm yoksa veritabanına sorgu atma
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> chunk = nextDue(now);
+        if (chunk.isEmpty()) {
+            return; // Zamanı gelen alarm yoksa veritabanına sorgu atma
+        }
+
+        long startedAt = System.nanoTime();
+        int sent = 0;
+        int chunks = 0;
+        for (; !chunk.isEmpty(); chunk = nextDue(now)) {
+            chunks++;
+            List<UUID> eventIds = chunk;
+            try {
+                List<UUID> claimed = transactionTemplate.execute(status -> claim(eventIds));
+                if (claimed == null || claimed.isEmpty()) {
+                    continue; // Başka bir instance gönderiyor veya zaten gönderilmiş
+                }
+                // Outbox kayıtları ve notified flag'i aynı transaction'da yazılır
+                Integer count = transactionTemplate.execute(status -> sendReminders(claimed));
+                sent += count != null ? count : 0;
+            } catch (RuntimeException e) {
+                // Lease dolunca refill bu alarmları tekrar kuyruğa alır
+                log.error("Failed to send {} reminders: {}", eventIds.size(), e.getMessage(), e);
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Sent {} reminders in {} chunks in {} ms ({} per second)", sent, chunks, elapsedMillis,
+                sent * 1000 / elapsedMillis);
+    }
+
+    // Kuyruk low-water altına indiyse önce taramanın sonraki sayfası okunur
+    private List<UUID> nextDue(LocalDateTime now) {
+        topUp();
+        return queue.pollDue(now, batchSize);
+    }
+
+    // Claim transaction'ı kısa tutulur; lease süresince diğer instance'lar bu alarmları atlar
+    private List<UUID> claim(List<UUID> eventIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> claimed = eventRepository.findClaimableForUpdate(eventIds, now, eventIds.size());
+        if (claimed.isEmpty()) {
+            return claimed;
         }
+        if (digestWindowMillis > 0) {
+            LocalDateTime until = now.plus(Duration.ofMillis(digestWindowMillis));
+            List<UUID> upcoming = eventRepository.findDigestCandidatesForUpdate(claimed, now, until.toLocalDate(),
+                    until.toLocalTime());
+            if (!upcoming.isEmpty()) {
+                upcoming.forEach(queue::cancel); // Digest ile gidecek, kendi zamanında tekrar denenmesin
+                claimed = Stream.concat(claimed.stream(), upcoming.stream()).toList();
+            }
+        }
+        eventRepository.leaseReminders(claimed, now.plus(Duration.ofMillis(leaseMillis)));
+        return claimed;
+    }
 
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
+    private int sendReminders(List<UUID> eventIds) {
+        // Silinmiş veya zaten gönderilmiş olanlar sorguda elenir
+        List<CalendarEventRepository.ReminderView> reminders = eventRepository.findRemindersByIdIn(eventIds);
+        if (reminders.isEmpty()) {
+            return 0;
+        }
 
-        List<CalendarEvent> eventsToNotify = eventRepository.findEventsToNotify(today, today, now);
+        LocalDateTime now = LocalDateTime.now();
+        Timer lag = meterRegistry.timer("reminders.lag");
+        Map<UUID, List<CalendarEventRepository.ReminderView>> byUser = reminders.stream()
+                .sorted(Comparator.comparing(reminder -> fireAt(reminder.getDate(), reminder.getAlarmTime())))
+                .collect(Collectors.groupingBy(CalendarEventRepository.ReminderView::getUserId, LinkedHashMap::new,
+                        Collectors.toList()));
 
-        if (eventsToNotify.isEmpty()) {
-            // Hiç bildirim saati gelmiş etkinlik yoksa, genel olarak bekleyen alarm kalmış
-            // mı kontrol et
-            if (!eventRepository.existsByHasAlarmTrueAndNotifiedFalse()) {
-                hasPendingAlarms.set(false);
+        for (List<CalendarEventRepository.ReminderView> userReminders : byUser.values()) {
+            CalendarEventRepository.ReminderView first = userReminders.get(0);
+            if (userReminders.size() > 1 && first.getReminderDigest()) {
+                mailService.sendEmail(first.getEmail(),
+                        "ApplyFollow Reminder: " + userReminders.size() + " upcoming events",
+                        digestBody(userReminders));
+                meterRegistry.counter("reminders.emails", "type", "digest").increment();
+            } else {
+                for (CalendarEventRepository.ReminderView reminder : userReminders) {
+                    mailService.sendEmail(reminder.getEmail(), "ApplyFollow Reminder: " + reminder.getTitle(),
+                            String.format("Hello %s,\n\nYou have an upcoming event: %s\n%s\nGood luck!",
+                                    reminder.getFullName(), reminder.getTitle(), eventDetails(reminder)));
+                    meterRegistry.counter("reminders.emails", "type", "single").increment();
+                }
             }
-            return;
+            // Digest ile öne çekilenlerin gecikmesi negatif olur ve timer'a yazılmaz
+            userReminders.forEach(reminder ->
+                    lag.record(Duration.between(fireAt(reminder.getDate(), reminder.getAlarmTime()), now)));
+        }
+
+        // Entity yüklemeden tek UPDATE ile işaretlenir
+        eventRepository.markNotified(reminders.stream().map(CalendarEventRepository.ReminderView::getId).toList());
+        meterRegistry.counter("reminders.sent").increment(reminders.size());
+        return reminders.size();
+    }
+
+    private static String digestBody(List<CalendarEventRepository.ReminderView> reminders) {
+        StringBuilder body = new StringBuilder(String.format("Hello %s,\n\nYou have %d upcoming events:\n",
+                reminders.get(0).getFullName(), reminders.size()));
+        for (CalendarEventRepository.ReminderView reminder : reminders) {
+            body.append("\n").append(reminder.getTitle()).append("\n").append(eventDetails(reminder));
         }
+        return body.append("\nGood luck!").toString();
+    }
+
+    private static String eventDetails(CalendarEventRepository.ReminderView reminder) {
+        return String.format("Date: %s\nTime: %s\nNotes: %s\n",
+                reminder.getDate(),
+                reminder.getTime(),
+                reminder.getNotes() != null ? reminder.getNotes() : "No notes");
+    }
 
-        log.info("Found {} events to notify", eventsToNotify.size());
-
-        for (CalendarEvent event : eventsToNotify) {
-            String userEmail = event.getUser().getEmail();
-            String subject = "ApplyFollow Reminder: " + event.getTitle();
-            String body = String.format(
-                    "Hello %s,\n\nYou have an upcoming event: %s\nDate: %s\nTime: %s\nNotes: %s\n\nGood luck!",
-                    event.getUser().getFullName(),
-                    event.getTitle(),
-                    event.getDate(),
-                    event.getTime(),
-                    event.getNotes() != null ? event.getNotes() : "No notes");
-
-            mailService.sendEmail(userEmail, subject, body);
-            event.setNotified(true);
+    // Her refill pencere sonu güncellenerek baştan tarar; lease'i dolan veya kapasite yüzünden
+    // düşen alarmlar da böylece geri gelir
+    private int refillWindow() {
+        synchronized (refillLock) {
+            refillCursor = SCAN_START;
+            refillUntil = horizonEnd();
+            return topUp();
         }
+    }
 
-        // Batch save all notified events
-        eventRepository.saveAll(eventsToNotify);
+    // Tarama yoksa, kuyruk low-water üstündeyse ve tarama kuyruktaki en geç alarmı geçtiyse
+    // veritabanına gidilmez
+    private int topUp() {
+        synchronized (refillLock) {
+            int loaded = 0;
+            while (refillCursor != null && needsNextPage()) {
+                List<CalendarEventRepository.AlarmSlot> page = eventRepository.findPendingAlarmsAfter(
+                        refillCursor.fireAt(), refillCursor.eventId(), refillUntil, batchSize);
+                long droppedBefore = queue.dropped();
+                ReminderQueue.Entry pageEnd = null;
+                for (CalendarEventRepository.AlarmSlot slot : page) {
+                    pageEnd = new ReminderQueue.Entry(fireAt(slot.getDate(), slot.getAlarmTime()), slot.getId());
+                    queue.schedule(pageEnd.eventId(), pageEnd.fireAt());
+                }
+                loaded += page.size();
+                if (queue.dropped() > droppedBefore) {
+                    // Kuyruk doldu: düşen alarmlar kuyruktaki en geç alarmdan sonradır, tarama oradan sürer
+                    refillCursor = queue.last();
+                } else {
+                    refillCursor = page.size() < batchSize ? null : pageEnd;
+                }
+            }
+            return loaded;
+        }
+    }
 
-        // İşlem sonrası bekleyen alarm kalmadıysa flag'i indir
-        if (!eventRepository.existsByHasAlarmTrueAndNotifiedFalse()) {
-            hasPendingAlarms.set(false);
-            log.info("All pending alarms processed. Cooling down scheduler.");
+    private boolean needsNextPage() {
+        if (queue.size() < lowWaterMark) {
+            return true;
         }
+        // Taranmamış kısımda kuyruktakilerden erken alarm olabilir
+        ReminderQueue.Entry last = queue.last();
+        return last != null && refillCursor.fireAt().isBefore(last.fireAt());
+    }
+
+    private LocalDateTime horizonEnd() {
+        return LocalDateTime.now().plusNanos(horizonMillis * 1_000_000);
+    }
+
+    // Alarm saati yoksa eski davranış korunur: etkinlik günü bitince bildirilir
+    static LocalDateTime fireAt(LocalDate date, LocalTime alarmTime) {
+        return alarmTime != null ? date.atTime(alarmTime) : date.plusDays(1).atStartOfDay();
+    }
+
+    int queuedAlarms() {
+        return queue.size();
     }
 }
@@ -0,0 +1,101 @@
+package com.applyfollow.backend.scheduler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Yakın zamandaki alarmları tutan bellek içi delay queue.
+ * Alarmlar zamana göre sıralı tutulur (O(log n) ekleme/iptal); her tick sadece
+ * zamanı gelmiş olanları baştan alır, veritabanı taranmaz.
+ * Kapasite doluysa en geç alarm düşürülür; düşen alarm bir sonraki refill taramasında geri gelir.
+ */
+public class ReminderQueue {
+
+    record Entry(LocalDateTime fireAt, UUID eventId) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = fireAt.compareTo(other.fireAt);
+            return byTime != 0 ? byTime : eventId.compareTo(other.eventId);
+        }
+    }
+
+    private final NavigableSet<Entry> schedule = new TreeSet<>();
+    private final Map<UUID, Entry> byEvent = new HashMap<>();
+    private int capacity = Integer.MAX_VALUE;
+    private long dropped;
+
+    public synchronized void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        while (schedule.size() > this.capacity) {
+            dropLast();
+        }
+    }
+
+    /**
+     * Aynı event tekrar eklenirse eski zamanı değiştirilir.
+     * Kuyruk doluyken kuyruktakilerden daha geç bir alarm eklenmez, false döner.
+     */
+    public synchronized boolean schedule(UUID eventId, LocalDateTime fireAt) {
+        Entry entry = new Entry(fireAt, eventId);
+        Entry previous = byEvent.remove(eventId);
+        if (previous != null) {
+            schedule.remove(previous);
+        }
+        if (schedule.size() >= capacity) {
+            if (entry.compareTo(schedule.last()) > 0) {
+                dropped++;
+                return false;
+            }
+            dropLast();
+        }
+        byEvent.put(eventId, entry);
+        schedule.add(entry);
+        return true;
+    }
+
+    private void dropLast() {
+        Entry last = schedule.pollLast();
+        byEvent.remove(last.eventId());
+        dropped++;
+    }
+
+    public synchronized boolean cancel(UUID eventId) {
+        Entry entry = byEvent.remove(eventId);
+        return entry != null && schedule.remove(entry);
+    }
+
+    /** Zamanı gelmiş alarmlardan en fazla limit kadarını kuyruktan çıkarır ve döner. */
+    public synchronized List<UUID> pollDue(LocalDateTime now, int limit) {
+        List<UUID> due = new ArrayList<>();
+        while (due.size() < limit && !schedule.isEmpty() && !schedule.first().fireAt().isAfter(now)) {
+            Entry entry = schedule.pollFirst();
+            byEvent.remove(entry.eventId());
+            due.add(entry.eventId());
+        }
+        return due;
+    }
+
+    /** En geç alarm; kuyruk boşsa null. */
+    synchronized Entry last() {
+        return schedule.isEmpty() ? null : schedule.last();
+    }
+
+    public synchronized boolean contains(UUID eventId) {
+        return byEvent.containsKey(eventId);
+    }
+
+    public synchronized int size() {
+        return schedule.size();
+    }
+
+    /** Kapasite yüzünden kuyruğa alınmayan veya kuyruktan düşürülen alarm sayısı. */
+    public synchronized long dropped() {
+        return dropped;
+    }
+}
@@ -1,17 +1,22 @@
 package com.applyfollow.backend.security.oauth2;
 
+import com.applyfollow.backend.config.OutboundHttpClient;
 import com.applyfollow.backend.model.AuthProvider;
 import com.applyfollow.backend.model.Role;
 import com.applyfollow.backend.model.User;
 import com.applyfollow.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
@@ -22,6 +27,15 @@ import org.springframework.security.authentication.InternalAuthenticationService
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final OutboundHttpClient outboundHttpClient;
+
+    // userinfo çağrısı da ortak pool/timeout/circuit breaker üzerinden gitsin
+    @PostConstruct
+    void init() {
+        RestTemplate restTemplate = outboundHttpClient.restTemplate("google-oauth2");
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        setRestOperations(restTemplate);
+    }
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -35,7 +49,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         }
     }
 
-    private OAuth2User processOAuth2User(OAuth2UserRequest userRequest, OAuth2User oAuth2User) {
+    OAuth2User processOAuth2User(OAuth2UserRequest userRequest, OAuth2User oAuth2User) {
         String registrationId = userRequest.getClientRegistration().getRegistrationId();
 
         Object idAttribute = oAuth2User.getAttribute("id");
@@ -94,6 +108,11 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     }
 
     private User updateExistingUser(User existingUser, String name, String socialId) {
+        // Değişiklik yoksa satırı yeniden yazma (updatedAt dahil)
+        if (Objects.equals(existingUser.getFullName(), name)
+                && Objects.equals(existingUser.getProviderId(), socialId)) {
+            return existingUser;
+        }
         existingUser.setFullName(name);
         existingUser.setProviderId(socialId); // Update provider ID just in case
         return userRepository.save(existingUser);
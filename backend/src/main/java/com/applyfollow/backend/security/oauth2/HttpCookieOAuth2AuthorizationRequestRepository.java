@@ -1,7 +1,9 @@
 package com.applyfollow.backend.security.oauth2;
 
+import com.applyfollow.backend.util.CookieUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
@@ -17,8 +19,12 @@ import java.util.concurrent.ConcurrentHashMap;
  * This bypasses all browser cookie issues (SameSite, Lax, localhost port
  * mismatches)
  * which were causing the 'authorization_request_not_found' error.
+ * A compact signed copy is also written to a cookie and used only as a fallback
+ * when the callback lands on an instance that does not hold the state in memory
+ * (restart, multiple replicas).
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class HttpCookieOAuth2AuthorizationRequestRepository
         implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
@@ -33,13 +39,16 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
     private final Map<String, Long> creationTimes = new ConcurrentHashMap<>();
 
     public static final String REDIRECT_URI_PARAM_COOKIE_NAME = "redirect_uri";
+    public static final String OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME = "oauth2_auth_request";
+
+    private final OAuth2AuthorizationRequestCodec codec;
 
     // Her 5 dakikada bir bayat istekleri temizle
     @org.springframework.scheduling.annotation.Scheduled(fixedRate = 300000)
     public void cleanupStaleRequests() {
         long now = System.currentTimeMillis();
         creationTimes.forEach((state, time) -> {
-            if (now - time > 300000) { // 5 dakika
+            if (now - time > codec.getMaxAgeMillis()) {
                 log.info("Cleanup: Removing stale OAuth2 request for state: {}", state);
                 authorizationRequests.remove(state);
                 redirectUris.remove(state);
@@ -65,6 +74,12 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
             return authRequest;
         }
 
+        authRequest = loadFromCookie(request, state);
+        if (authRequest != null) {
+            log.info("Step: Load - SUCCESS! Found request in cookie for state: {}", state);
+            return authRequest;
+        }
+
         log.error("Step: Load - FAILED! No request found in memory for state: {}. Total pending: {}", state,
                 authorizationRequests.size());
         return null;
@@ -83,6 +98,7 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
                 authorizationRequests.remove(state);
                 redirectUris.remove(state);
             }
+            CookieUtils.deleteCookie(request, response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME);
             return;
         }
 
@@ -95,6 +111,15 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
         if (redirectUri != null && !redirectUri.isBlank()) {
             redirectUris.put(state, redirectUri);
         }
+
+        try {
+            CookieUtils.addCookie(response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME,
+                    codec.encode(authorizationRequest, System.currentTimeMillis()),
+                    (int) Math.max(1, codec.getMaxAgeMillis() / 1000));
+        } catch (IllegalArgumentException e) {
+            // Cookie sadece yedek; kodlanamıyorsa hafızadaki kopya yeterli
+            log.warn("Step: Save - Authorization request not written to cookie: {}", e.getMessage());
+        }
     }
 
     @Override
@@ -106,7 +131,8 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
             log.info("Step: Remove - Cleaning up memory for state: {}", state);
             redirectUris.remove(state);
             creationTimes.remove(state);
-            return authorizationRequests.remove(state);
+            OAuth2AuthorizationRequest authRequest = authorizationRequests.remove(state);
+            return authRequest != null ? authRequest : loadFromCookie(request, state);
         }
         return null;
     }
@@ -119,6 +145,7 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
             redirectUris.remove(state);
             creationTimes.remove(state);
         }
+        CookieUtils.deleteCookie(request, response, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME);
     }
 
     public String getRedirectUri(String state) {
@@ -126,4 +153,11 @@ public class HttpCookieOAuth2AuthorizationRequestRepository
             return null;
         return redirectUris.get(state);
     }
+
+    private OAuth2AuthorizationRequest loadFromCookie(HttpServletRequest request, String state) {
+        return CookieUtils.getCookie(request, OAUTH2_AUTHORIZATION_REQUEST_COOKIE_NAME)
+                .map(cookie -> codec.decode(cookie.getValue(), System.currentTimeMillis()))
+                .filter(authRequest -> state.equals(authRequest.getState()))
+                .orElse(null);
+    }
 }
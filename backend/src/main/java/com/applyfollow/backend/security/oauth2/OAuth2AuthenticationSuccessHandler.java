@@ -2,7 +2,7 @@ package com.applyfollow.backend.security.oauth2;
 
 import com.applyfollow.backend.model.User;
 import com.applyfollow.backend.repository.UserRepository;
-import com.applyfollow.backend.config.JwtService;
+import com.applyfollow.backend.service.OAuth2LoginCodeService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -22,8 +22,8 @@ import java.io.IOException;
 @Slf4j
 public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
-    private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final OAuth2LoginCodeService oAuth2LoginCodeService;
     private final HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository;
 
     @Value("${app.oauth2.authorizedRedirectUris}")
@@ -55,7 +55,22 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
             targetUrl = defaultTargetUrl;
         }
 
-        OAuth2User oAuth2User = (OAuth2User) authentication.getPrincipal();
+        User user = resolveUser((OAuth2User) authentication.getPrincipal());
+
+        // Token'lar URL'e (geçmiş, loglar, Referer) yazılmaz; frontend kodu POST /api/auth/oauth2/token ile çevirir
+        String code = oAuth2LoginCodeService.issue(user);
+
+        return UriComponentsBuilder.fromUriString(targetUrl)
+                .queryParam("code", code)
+                .build().toUriString();
+    }
+
+    // CustomOAuth2UserService'in upsert ettiği kullanıcıyı kullan; yoksa email ile yükle
+    private User resolveUser(OAuth2User oAuth2User) {
+        if (oAuth2User instanceof UserPrincipal userPrincipal && userPrincipal.getUser() != null) {
+            return userPrincipal.getUser();
+        }
+
         String email = oAuth2User.getAttribute("email");
 
         if (email == null) {
@@ -64,14 +79,8 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
         log.info("Extracting attributes for user: {}", email);
 
-        User user = userRepository.findByEmail(email)
+        return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found after successful OAuth2 authentication"));
-
-        String token = jwtService.generateToken(user);
-
-        return UriComponentsBuilder.fromUriString(targetUrl)
-                .queryParam("token", token)
-                .build().toUriString();
     }
 
     protected void clearAuthenticationAttributes(HttpServletRequest request, HttpServletResponse response) {
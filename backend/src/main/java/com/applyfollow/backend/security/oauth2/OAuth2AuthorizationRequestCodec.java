@@ -0,0 +1,184 @@
+package com.applyfollow.backend.security.oauth2;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OAuth2AuthorizationRequest için kompakt, versiyonlu ve HMAC imzalı cookie formatı.
+ * Java serialization kullanılmaz: sadece callback'te gereken alanlar sabit sırayla
+ * yazılır, okunurken önce imza ve yaş kontrol edilir.
+ *
+ * Format (base64url): [version:1][issuedAt:8][alanlar...][hmac:16]
+ */
+@Component
+@Slf4j
+public class OAuth2AuthorizationRequestCodec {
+
+    static final byte VERSION = 1;
+    private static final int MAC_LENGTH = 16;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec signingKey;
+    private final long maxAgeMillis;
+
+    public OAuth2AuthorizationRequestCodec(
+            @Value("${application.security.jwt.secret-key}") String secretKey,
+            @Value("${app.oauth2.authorization-request.max-age:300000}") long maxAgeMillis) {
+        this.signingKey = deriveKey(secretKey);
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    // Cookie ömrü imzalı içeriğin geçerlilik süresiyle aynı ayardan gelir
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    public String encode(OAuth2AuthorizationRequest authorizationRequest, long nowMillis) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(nowMillis);
+            out.writeUTF(authorizationRequest.getAuthorizationUri());
+            out.writeUTF(authorizationRequest.getClientId());
+            writeNullable(out, authorizationRequest.getRedirectUri());
+            writeNullable(out, authorizationRequest.getState());
+
+            out.writeShort(authorizationRequest.getScopes().size());
+            for (String scope : authorizationRequest.getScopes()) {
+                out.writeUTF(scope);
+            }
+            writeMap(out, authorizationRequest.getAdditionalParameters());
+            writeMap(out, authorizationRequest.getAttributes());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode authorization request", e);
+        }
+
+        byte[] payload = bytes.toByteArray();
+        byte[] signed = Arrays.copyOf(payload, payload.length + MAC_LENGTH);
+        System.arraycopy(sign(payload), 0, signed, payload.length, MAC_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signed);
+    }
+
+    /**
+     * @return çözülen istek; imza, versiyon veya yaş geçersizse null
+     */
+    public OAuth2AuthorizationRequest decode(String value, long nowMillis) {
+        try {
+            byte[] signed = Base64.getUrlDecoder().decode(value);
+            if (signed.length <= MAC_LENGTH + 9) {
+                return null;
+            }
+            byte[] payload = Arrays.copyOf(signed, signed.length - MAC_LENGTH);
+            byte[] mac = Arrays.copyOfRange(signed, payload.length, signed.length);
+            if (!MessageDigest.isEqual(mac, sign(payload))) {
+                log.warn("Step: Decode - Authorization request cookie signature mismatch");
+                return null;
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+            long issuedAt = in.readLong();
+            if (nowMillis - issuedAt > maxAgeMillis) {
+                log.info("Step: Decode - Authorization request cookie expired");
+                return null;
+            }
+
+            OAuth2AuthorizationRequest.Builder builder = OAuth2AuthorizationRequest.authorizationCode()
+                    .authorizationUri(in.readUTF())
+                    .clientId(in.readUTF())
+                    .redirectUri(readNullable(in))
+                    .state(readNullable(in));
+
+            int scopeCount = in.readUnsignedShort();
+            Set<String> scopes = new LinkedHashSet<>();
+            for (int i = 0; i < scopeCount; i++) {
+                scopes.add(in.readUTF());
+            }
+            Map<String, Object> additionalParameters = readMap(in);
+            Map<String, Object> attributes = readMap(in);
+
+            return builder
+                    .scopes(scopes)
+                    .additionalParameters(additionalParameters)
+                    .attributes(attributes)
+                    .build();
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Step: Decode - Malformed authorization request cookie: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(signingKey);
+            return Arrays.copyOf(mac.doFinal(payload), MAC_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+
+    // JWT anahtarı doğrudan kullanılmaz; amaca özel bir alt anahtar türetilir
+    private static SecretKeySpec deriveKey(String secretKey) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM));
+            byte[] derived = mac.doFinal("oauth2-authorization-request".getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(derived, MAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (!(entry.getValue() instanceof String value)) {
+                throw new IllegalArgumentException("Unsupported value type for " + entry.getKey());
+            }
+            out.writeUTF(entry.getKey());
+            out.writeUTF(value);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readUTF());
+        }
+        return map;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -15,8 +15,11 @@ public class UserPrincipal implements OAuth2User, UserDetails {
     private UUID id;
     private String email;
     private String password;
+    private String fullName;
     private Collection<? extends GrantedAuthority> authorities;
     private Map<String, Object> attributes;
+    // OAuth2 login'de upsert edilen entity; success handler tekrar sorgulamasın diye taşınır
+    private transient User user;
 
     public UserPrincipal(UUID id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
@@ -29,16 +32,29 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         List<GrantedAuthority> authorities = Collections.singletonList(
                 new org.springframework.security.core.authority.SimpleGrantedAuthority(user.getRole().name()));
 
-        return new UserPrincipal(
+        UserPrincipal userPrincipal = new UserPrincipal(
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
                 authorities);
+        userPrincipal.fullName = user.getFullName();
+        return userPrincipal;
+    }
+
+    /**
+     * Stateless JWT modunda token claim'lerinden oluşturulan, şifresiz principal.
+     */
+    public static UserPrincipal create(UUID id, String email, String fullName, String role) {
+        UserPrincipal userPrincipal = new UserPrincipal(id, email, null, Collections.singletonList(
+                new org.springframework.security.core.authority.SimpleGrantedAuthority(role)));
+        userPrincipal.fullName = fullName;
+        return userPrincipal;
     }
 
     public static UserPrincipal create(User user, Map<String, Object> attributes) {
         UserPrincipal userPrincipal = UserPrincipal.create(user);
         userPrincipal.setAttributes(attributes);
+        userPrincipal.user = user;
         return userPrincipal;
     }
 
@@ -50,6 +66,14 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         return email;
     }
 
+    public String getFullName() {
+        return fullName;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
     @Override
     public String getPassword() {
         return password;
@@ -1,5 +1,7 @@
 package com.applyfollow.backend.service;
 
+import com.applyfollow.backend.dto.ApplicationFilter;
+import com.applyfollow.backend.dto.ApplicationPageResponse;
 import com.applyfollow.backend.dto.ApplicationRequest;
 import com.applyfollow.backend.dto.ApplicationResponse;
 import com.applyfollow.backend.dto.CompanyResponse;
@@ -12,6 +14,10 @@ import com.applyfollow.backend.repository.ContactRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -22,57 +28,110 @@ public class ApplicationService {
     private final ApplicationRepository applicationRepository;
     private final ContactRepository contactRepository;
     private final CompanyService companyService;
-    private final com.applyfollow.backend.repository.UserRepository userRepository;
 
     public ApplicationService(ApplicationRepository applicationRepository,
             ContactRepository contactRepository,
-            CompanyService companyService,
-            com.applyfollow.backend.repository.UserRepository userRepository) {
+            CompanyService companyService) {
         this.applicationRepository = applicationRepository;
         this.contactRepository = contactRepository;
         this.companyService = companyService;
-        this.userRepository = userRepository;
     }
 
     public List<ApplicationResponse> getAllApplications(UUID userId) {
-        return applicationRepository.findAllByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return applicationRepository.findAllByUserId(userId);
+    }
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Cursor tabanlı sayfa. Cursor son öğenin (appliedAt, id) çiftidir; offset kullanılmadığı için
+     * derin sayfalar da index üzerinden sabit maliyetle okunur.
+     */
+    public ApplicationPageResponse getApplicationsPage(UUID userId, ApplicationFilter filter, String cursor,
+            Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        LocalDateTime afterAppliedAt = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            try {
+                afterAppliedAt = LocalDateTime.parse(parts[0]);
+                afterId = UUID.fromString(parts[1]);
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new com.applyfollow.backend.exception.BadRequestException("Invalid cursor");
+            }
+        }
+
+        // Bir fazla satır okunarak sonraki sayfanın varlığı count sorgusu olmadan anlaşılır
+        List<ApplicationResponse> rows = applicationRepository.findPage(userId, filter, afterAppliedAt, afterId,
+                pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ApplicationResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ApplicationResponse last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.appliedAt(), last.id());
+        }
+        return new ApplicationPageResponse(page, nextCursor);
     }
 
     public ApplicationResponse getApplicationById(UUID id, UUID userId) {
-        return applicationRepository.findByIdAndUserId(id, userId)
-                .map(this::mapToResponse)
+        return applicationRepository.findResponseByIdAndUserId(id, userId)
                 .orElseThrow(() -> new com.applyfollow.backend.exception.ResourceNotFoundException(
                         "Application not found with id: " + id));
     }
 
-    @Transactional
-    public ApplicationResponse createApplication(ApplicationRequest request, UUID userId) {
-        // Duplicate Check
-        java.util.Optional<Application> existing = applicationRepository.findByUserIdAndCompany_NameAndPosition(
-                userId, request.companyName(), request.position());
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
 
-        if (existing.isPresent()) {
-            return mapToResponse(existing.get());
+    /**
+     * Tek INSERT ... ON CONFLICT ile oluşturur; aynı başvuru veya aynı Idempotency-Key tekrar gönderilirse
+     * var olan kayıt döner. Eşzamanlı çift gönderimlerde de tek satır oluşur.
+     */
+    @Transactional
+    public Creation createApplication(ApplicationRequest request, UUID userId, String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new com.applyfollow.backend.exception.BadRequestException("Invalid Idempotency-Key header");
         }
 
-        Company company = companyService.findOrCreateCompany(request.companyName());
-        com.applyfollow.backend.model.User user = userRepository.getReferenceById(userId);
-
-        Application application = new Application();
-        application.setUser(user);
-        application.setCompany(company);
-        application.setPosition(request.position());
-        application.setStatus(request.status());
-        application.setJobUrl(request.jobUrl());
-        application.setNotes(request.notes());
-        if (request.appliedAt() != null) {
-            application.setAppliedAt(request.appliedAt());
+        CompanyResponse company = companyService.resolveCompany(request.companyName());
+        LocalDateTime appliedAt = request.appliedAt() != null ? request.appliedAt() : LocalDateTime.now();
+
+        ApplicationRepository.CreatedRow row = insertOrFindExisting(request, userId, company, appliedAt, idempotencyKey)
+                // Çakışan satır bu ifadenin snapshot'ından sonra commit edildiyse yeni ifade onu görür
+                .or(() -> insertOrFindExisting(request, userId, company, appliedAt, idempotencyKey))
+                .orElseThrow(() -> new IllegalStateException("Application upsert returned no row"));
+
+        boolean created = Boolean.TRUE.equals(row.getCreated());
+        if (!row.getCompanyId().equals(company.id())) {
+            // Idempotency-Key başka bir şirketle oluşturulmuş kayda ait
+            return new Creation(getApplicationById(row.getId(), userId), created);
         }
+        return new Creation(new ApplicationResponse(
+                row.getId(),
+                company,
+                row.getPosition(),
+                com.applyfollow.backend.model.ApplicationStatus.valueOf(row.getStatus()),
+                row.getJobUrl(),
+                row.getNotes(),
+                row.getAppliedAt()), created);
+    }
 
-        Application savedApplication = applicationRepository.save(application);
-        return mapToResponse(savedApplication);
+    private java.util.Optional<ApplicationRepository.CreatedRow> insertOrFindExisting(ApplicationRequest request,
+            UUID userId, CompanyResponse company, LocalDateTime appliedAt, String idempotencyKey) {
+        return applicationRepository.insertOrFindExisting(
+                com.applyfollow.backend.util.UuidV7.randomUuid(),
+                LocalDateTime.now(),
+                userId,
+                company.id(),
+                request.position(),
+                request.status().name(),
+                request.jobUrl(),
+                request.notes(),
+                appliedAt,
+                idempotencyKey);
     }
 
     @Transactional
@@ -138,6 +197,23 @@ public class ApplicationService {
         return mapToResponse(savedApplication);
     }
 
+    private static String encodeCursor(LocalDateTime appliedAt, UUID id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((appliedAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length == 2) {
+                return parts;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // Aşağıda tek tip hata döner
+        }
+        throw new com.applyfollow.backend.exception.BadRequestException("Invalid cursor");
+    }
+
     private ContactDto mapToContactDto(Contact contact) {
         return new ContactDto(
                 contact.getId(),
@@ -149,22 +225,27 @@ public class ApplicationService {
     }
 
     private ApplicationResponse mapToResponse(Application application) {
-        Company company = application.getCompany();
-        CompanyResponse companyResponse = new CompanyResponse(
-                company.getId(),
-                company.getName(),
-                company.getWebsite(),
-                company.getLinkedinUrl(),
-                company.getLogoUrl(),
-                company.getCreatedAt());
-
         return new ApplicationResponse(
                 application.getId(),
-                companyResponse,
+                mapToCompanyResponse(application.getCompany()),
                 application.getPosition(),
                 application.getStatus(),
                 application.getJobUrl(),
                 application.getNotes(),
                 application.getAppliedAt());
     }
+
+    private CompanyResponse mapToCompanyResponse(Company company) {
+        return new CompanyResponse(
+                company.getId(),
+                company.getName(),
+                company.getWebsite(),
+                company.getLinkedinUrl(),
+                company.getLogoUrl(),
+                company.getCreatedAt());
+    }
+
+    // created false ise istek var olan bir kayda denk geldi (Idempotency-Key tekrarı veya aynı pozisyon)
+    public record Creation(ApplicationResponse application, boolean created) {
+    }
 }
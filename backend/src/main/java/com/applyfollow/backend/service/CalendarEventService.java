@@ -50,8 +50,8 @@ public class CalendarEventService {
 
         CalendarEvent savedEvent = repository.save(event);
 
-        if (event.isHasAlarm()) {
-            notificationScheduler.triggerCheck();
+        if (savedEvent.isHasAlarm()) {
+            notificationScheduler.schedule(savedEvent);
         }
 
         return mapToResponse(savedEvent);
@@ -68,6 +68,7 @@ public class CalendarEventService {
         }
 
         repository.delete(event);
+        notificationScheduler.cancel(id);
     }
 
     private CalendarEventResponse mapToResponse(CalendarEvent event) {
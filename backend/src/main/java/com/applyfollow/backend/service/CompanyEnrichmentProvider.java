@@ -0,0 +1,26 @@
+package com.applyfollow.backend.service;
+
+import java.util.Optional;
+
+/**
+ * Şirket bilgisi (web sitesi, LinkedIn, logo) kaynağı. Birden fazla provider tanımlanabilir;
+ * sırayla sorulur ve ilk sonuç kullanılır. Çağrılar zenginleştirme havuzunda yapılır,
+ * bu yüzden yavaş/uzak kaynaklar da olabilir; bulunamazsa Optional.empty() döner.
+ */
+public interface CompanyEnrichmentProvider {
+
+    String name();
+
+    Optional<Result> lookup(String companyName);
+
+    record Result(String website, String linkedinUrl, String logoUrl) {
+
+        public boolean isEmpty() {
+            return isBlank(website) && isBlank(linkedinUrl) && isBlank(logoUrl);
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+}
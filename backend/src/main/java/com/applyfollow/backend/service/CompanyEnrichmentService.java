@@ -0,0 +1,197 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.repository.CompanyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Şirketlerin web sitesi, LinkedIn ve logo bilgisini arka planda provider'lardan doldurur.
+ * Şirket çözümlemesi commit olduktan sonra enqueue() ile beslenir; istek thread'i sadece
+ * sınırlı kuyruğa iş bırakır, kuyruk doluysa iş düşürülür ve şirket bir sonraki çözümlemede tekrar gelir.
+ * Aynı şirket için aynı anda tek arama yapılır; bulunamayan şirketler negative-ttl boyunca tekrar sorulmaz.
+ */
+@Component
+@Slf4j
+public class CompanyEnrichmentService {
+
+    private final List<CompanyEnrichmentProvider> providers;
+    private final CompanyRepository companyRepository;
+    private final CompanyNameCache companyNameCache;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long negativeTtlMillis;
+    private final int negativeMaxSize;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    // Şirket id -> tekrar sorulabileceği zaman
+    private final Map<UUID, Long> notFound;
+    private final Timer lookupTimer;
+
+    public CompanyEnrichmentService(ObjectProvider<CompanyEnrichmentProvider> providers,
+            CompanyRepository companyRepository,
+            CompanyNameCache companyNameCache,
+            MeterRegistry meterRegistry,
+            @Value("${application.companies.enrichment.enabled:true}") boolean enabled,
+            @Value("${application.companies.enrichment.threads:2}") int threads,
+            @Value("${application.companies.enrichment.queue-capacity:1000}") int queueCapacity,
+            @Value("${application.companies.enrichment.negative-ttl:86400000}") long negativeTtlMillis,
+            @Value("${application.companies.enrichment.negative-max-size:100000}") int negativeMaxSize) {
+        this.providers = providers.orderedStream().toList();
+        this.companyRepository = companyRepository;
+        this.companyNameCache = companyNameCache;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled && !this.providers.isEmpty();
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.negativeMaxSize = negativeMaxSize;
+        this.notFound = new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+                return size() > CompanyEnrichmentService.this.negativeMaxSize;
+            }
+        };
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "company-enrichment-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.lookupTimer = meterRegistry.timer("companies.enrichment.lookup");
+        Gauge.builder("companies.enrichment.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("companies.enrichment.in-flight", inFlight, Set::size).register(meterRegistry);
+
+        if (this.enabled) {
+            log.info("Company enrichment enabled with providers {}",
+                    this.providers.stream().map(CompanyEnrichmentProvider::name).toList());
+        }
+    }
+
+    /**
+     * Şirketi zenginleştirme kuyruğuna ekler; hiçbir zaman bloklamaz ve hata fırlatmaz.
+     */
+    public void enqueue(CompanyResponse company) {
+        if (!enabled || isEnriched(company)) {
+            return;
+        }
+        if (isNegativelyCached(company.id())) {
+            count("cached-not-found");
+            return;
+        }
+        if (!inFlight.add(company.id())) {
+            count("deduplicated");
+            return;
+        }
+        try {
+            executor.execute(() -> enrich(company));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(company.id());
+            count("dropped");
+            log.debug("Company enrichment queue is full, dropping {}", company.name());
+        }
+    }
+
+    void enrich(CompanyResponse company) {
+        try {
+            Optional<CompanyEnrichmentProvider.Result> result = lookupTimer.record(() -> lookup(company.name()));
+            if (result.isEmpty()) {
+                rememberNotFound(company.id());
+                count("not-found");
+                return;
+            }
+            CompanyEnrichmentProvider.Result found = result.get();
+            companyRepository.updateEnrichment(company.id(), blankToNull(found.website()),
+                    blankToNull(found.linkedinUrl()), blankToNull(found.logoUrl()), LocalDateTime.now());
+            // Şirketin önbellekteki tüm adları (alias'lar dahil) düşer, sonraki çözümleme yeni alanları okur
+            companyNameCache.evictCompany(company.id());
+            count("enriched");
+        } catch (RuntimeException e) {
+            // Geçici hatalar negatif önbelleğe yazılmaz; şirket sonraki çözümlemede tekrar denenir
+            count("failed");
+            log.warn("Company enrichment failed for {}: {}", company.name(), e.getMessage());
+        } finally {
+            inFlight.remove(company.id());
+        }
+    }
+
+    private Optional<CompanyEnrichmentProvider.Result> lookup(String companyName) {
+        for (CompanyEnrichmentProvider provider : providers) {
+            Optional<CompanyEnrichmentProvider.Result> result = provider.lookup(companyName)
+                    .filter(r -> !r.isEmpty());
+            if (result.isPresent()) {
+                return result;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isNegativelyCached(UUID companyId) {
+        synchronized (notFound) {
+            Long retryAt = notFound.get(companyId);
+            if (retryAt == null) {
+                return false;
+            }
+            if (retryAt > System.currentTimeMillis()) {
+                return true;
+            }
+            notFound.remove(companyId);
+            return false;
+        }
+    }
+
+    private void rememberNotFound(UUID companyId) {
+        synchronized (notFound) {
+            notFound.put(companyId, System.currentTimeMillis() + negativeTtlMillis);
+        }
+    }
+
+    private static boolean isEnriched(CompanyResponse company) {
+        return company.website() != null || company.linkedinUrl() != null || company.logoUrl() != null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("companies.enrichment", "result", result).increment();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,175 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.config.ClusterSignalBus;
+import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.repository.CompanyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Normalize şirket adı -> şirket önbelleği. Popüler şirketler çok sayıda kullanıcı tarafından
+ * paylaşıldığı için başvuru oluştururken şirket çözümlemesi çoğunlukla bellekten yapılır.
+ * Boyut sınırlı (LRU) ve TTL'li; açılışta en çok kullanılan şirketlerle ısıtılır.
+ * Şirket güncellendiğinde veya silindiğinde evictCompany() çağrılır; şirketin tüm adları (alias) düşer
+ * ve evict diğer instance'lara şirket id'si ile yayılır.
+ */
+@Component
+@Slf4j
+public class CompanyNameCache {
+
+    private final CompanyRepository companyRepository;
+    private final ClusterSignalBus signalBus;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final int warmSize;
+
+    private final Map<String, Entry> entries;
+    // Şirket id -> önbellekteki anahtarları; entries ile aynı kilit altında tutulur
+    private final Map<UUID, Set<String>> keysByCompany = new HashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CompanyNameCache(CompanyRepository companyRepository,
+            ClusterSignalBus signalBus,
+            MeterRegistry meterRegistry,
+            @Value("${application.companies.cache.max-size:10000}") int maxSize,
+            @Value("${application.companies.cache.ttl:3600000}") long ttlMillis,
+            @Value("${application.companies.cache.warm-size:1000}") int warmSize) {
+        this.companyRepository = companyRepository;
+        this.signalBus = signalBus;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.warmSize = warmSize;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= CompanyNameCache.this.maxSize) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+
+        this.hits = meterRegistry.counter("companies.name.cache", "result", "hit");
+        this.misses = meterRegistry.counter("companies.name.cache", "result", "miss");
+        Gauge.builder("companies.name.cache.size", this, CompanyNameCache::size).register(meterRegistry);
+
+        signalBus.subscribe(ClusterSignalBus.COMPANY_ID_EVICT, new ClusterSignalBus.Listener() {
+            @Override
+            public void onSignal(String companyId) {
+                evictCompanyLocal(UUID.fromString(companyId));
+            }
+
+            @Override
+            public void onResync() {
+                clear();
+            }
+        });
+    }
+
+    @PostConstruct
+    public void warm() {
+        if (warmSize <= 0) {
+            return;
+        }
+        try {
+            companyRepository.findMostUsed(Math.min(warmSize, maxSize))
+                    .forEach(row -> put(row.getName(), new CompanyResponse(row.getId(), row.getName(),
+                            row.getWebsite(), row.getLinkedinUrl(), row.getLogoUrl(), row.getCreatedAt())));
+            log.info("Company name cache warmed with {} entries", size());
+        } catch (DataAccessException e) {
+            // Isıtma sadece optimizasyon; önbellek istekler geldikçe dolar
+            log.warn("Company name cache warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    // Veritabanındaki lower(btrim(name)) ifadesiyle aynı anahtar
+    public static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public CompanyResponse get(String name) {
+        String key = normalize(name);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return entry.company();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // Anahtar istenen addır; birleştirilmiş bir adın (alias) çözüldüğü şirketin adı farklı olabilir
+    public void put(String name, CompanyResponse company) {
+        String key = normalize(name);
+        Entry entry = new Entry(company, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            keysByCompany.computeIfAbsent(company.id(), id -> new HashSet<>()).add(key);
+        }
+    }
+
+    // Şirketin önbellekteki tüm adlarını düşürür; diğer instance'lar kendi anahtarlarını id ile bulur
+    public void evictCompany(UUID companyId) {
+        if (companyId == null) {
+            return;
+        }
+        evictCompanyLocal(companyId);
+        signalBus.publish(ClusterSignalBus.COMPANY_ID_EVICT, companyId.toString());
+    }
+
+    private void evictCompanyLocal(UUID companyId) {
+        synchronized (entries) {
+            Set<String> keys = keysByCompany.remove(companyId);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+    }
+
+    // entries kilidi altında çağrılır
+    private void unindex(String key, Entry entry) {
+        Set<String> keys = keysByCompany.get(entry.company().id());
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            keysByCompany.remove(entry.company().id());
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            keysByCompany.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(CompanyResponse company, long expiresAt) {
+    }
+}
@@ -3,28 +3,111 @@ package com.applyfollow.backend.service;
 import com.applyfollow.backend.model.Company;
 import com.applyfollow.backend.repository.CompanyRepository;
 import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.dto.CompanySuggestion;
+import com.applyfollow.backend.util.UuidV7;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class CompanyService {
 
     private final CompanyRepository companyRepository;
+    private final CompanyNameCache companyNameCache;
+    private final CompanySuggestIndex companySuggestIndex;
+    private final CompanyEnrichmentService companyEnrichmentService;
+    private final Timer suggestTimer;
+
+    static final int DEFAULT_SUGGEST_LIMIT = 10;
+    static final int MAX_SUGGEST_LIMIT = 20;
 
-    public CompanyService(CompanyRepository companyRepository) {
+    public CompanyService(CompanyRepository companyRepository, CompanyNameCache companyNameCache,
+            CompanySuggestIndex companySuggestIndex, CompanyEnrichmentService companyEnrichmentService,
+            MeterRegistry meterRegistry) {
         this.companyRepository = companyRepository;
+        this.companyNameCache = companyNameCache;
+        this.companySuggestIndex = companySuggestIndex;
+        this.companyEnrichmentService = companyEnrichmentService;
+        this.suggestTimer = Timer.builder("companies.suggest").publishPercentiles(0.5, 0.99).register(meterRegistry);
     }
 
+    /**
+     * Şirketi adına göre bulur, yoksa oluşturur. Büyük/küçük harf ve baştaki/sondaki boşluklar yok sayılır.
+     * Önbellekte yoksa normalize ad için transaction seviyesinde advisory lock alınır ve tek bir
+     * INSERT ... ON CONFLICT ifadesi çalışır; farklı yazımlı eşzamanlı oluşturmalar da aynı satırı döner.
+     * Eksik web sitesi/logo bilgisi commit'ten sonra arka planda doldurulur, bu çağrı beklemez.
+     */
     @Transactional
-    public Company findOrCreateCompany(String companyName) {
-        return companyRepository.findByNameIgnoreCase(companyName)
-                .orElseGet(() -> {
-                    Company newCompany = new Company();
-                    newCompany.setName(companyName);
-                    return companyRepository.save(newCompany);
-                });
+    public CompanyResponse resolveCompany(String companyName) {
+        CompanyResponse cached = companyNameCache.get(companyName);
+        if (cached != null) {
+            return cached;
+        }
+
+        String name = companyName.trim();
+        // Lock commit'e kadar tutulur; aynı adı bekleyen transaction sonraki ifadede bu satırı görür
+        companyRepository.lockNormalizedName(name);
+        CompanyResponse company = findOrInsert(name)
+                // Çakışan satır bu ifadenin snapshot'ından sonra commit edildiyse yeni ifade onu görür
+                .or(() -> findOrInsert(name))
+                .orElseThrow(() -> new IllegalStateException("Company upsert returned no row"));
+
+        // Yeni eklenen satır rollback olabilir; önbelleğe commit'ten sonra yazılır
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    companyNameCache.put(companyName, company);
+                    companySuggestIndex.add(company);
+                    companyEnrichmentService.enqueue(company);
+                }
+            });
+        } else {
+            companyNameCache.put(companyName, company);
+            companySuggestIndex.add(company);
+            companyEnrichmentService.enqueue(company);
+        }
+        return company;
+    }
+
+    private java.util.Optional<CompanyResponse> findOrInsert(String name) {
+        return companyRepository.findOrInsertByNormalizedName(UuidV7.randomUuid(), LocalDateTime.now(), name)
+                .map(row -> new CompanyResponse(row.getId(), row.getName(), row.getWebsite(), row.getLinkedinUrl(),
+                        row.getLogoUrl(), row.getCreatedAt()));
+    }
+
+    /**
+     * Yazılan ada göre şirket önerileri, kullanım sayısına göre sıralı. Bellek içi index'ten cevaplanır;
+     * index hazır değilse veya eşleşmeler index dışında kalmış olabilirse veritabanına düşülür.
+     */
+    public List<CompanySuggestion> suggest(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int size = limit == null ? DEFAULT_SUGGEST_LIMIT : Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT));
+        return suggestTimer.record(() -> {
+            if (companySuggestIndex.isReady()) {
+                List<CompanySuggestion> suggestions = companySuggestIndex.suggest(query, size);
+                // Index dışındaki şirketler daha az kullanılmıştır; sadece sonuçlar yetmezse gerekir
+                if (suggestions.size() == size || companySuggestIndex.isComplete()) {
+                    return suggestions;
+                }
+            }
+            String prefix = CompanyNameCache.normalize(query)
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            return companyRepository.findSuggestionsByPrefix(prefix, size).stream()
+                    .map(row -> new CompanySuggestion(row.getId(), row.getName(), row.getLogoUrl(),
+                            row.getUsageCount()))
+                    .toList();
+        });
     }
 
     public Page<CompanyResponse> getAllCompanies(Pageable pageable) {
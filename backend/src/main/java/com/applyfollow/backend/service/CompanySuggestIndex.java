@@ -0,0 +1,241 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.config.ClusterSignalBus;
+import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.dto.CompanySuggestion;
+import com.applyfollow.backend.repository.CompanyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Şirket adı otomatik tamamlama için bellek içi önek index'i.
+ *
+ * Şirketler normalize ada göre sıralı bir dizide tutulur; önek eşleşmeleri ikili arama ile bulunan
+ * bir aralıktır. Aralık küçükse taranıp sıralanır. Kısa öneklerde aralık büyük olur; bu durumda
+ * kullanım sayısına göre sıralı ikinci dizide baştan ilerlenip öneki tutan ilk N şirket alınır
+ * (eşleşmeler yoğun olduğu için kısa sürede bulunur). Böylece her sorgu sınırlı sayıda adımda biter.
+ *
+ * Yeni şirketler commit'ten sonra küçük bir ek listeye eklenir (ve sinyal ile diğer instance'lara yayılır);
+ * index ve kullanım sayıları refresh-interval'da veritabanından yeniden kurulur. En çok kullanılan
+ * max-entries şirket tutulur, kapsam dışında kalanlar için CompanyService veritabanı aramasına düşer.
+ */
+@Component
+@Slf4j
+public class CompanySuggestIndex {
+
+    static final Comparator<CompanySuggestion> RANKING = Comparator
+            .comparingLong(CompanySuggestion::usageCount).reversed()
+            .thenComparing(CompanySuggestion::name, String.CASE_INSENSITIVE_ORDER);
+
+    // Bu boyuttan büyük aralıklar kullanım sırasına göre dizi üzerinden cevaplanır
+    private static final int RANGE_SCAN_THRESHOLD = 2000;
+
+    private final CompanyRepository companyRepository;
+    private final ClusterSignalBus signalBus;
+    private final int maxEntries;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    // Son yeniden kurulumdan sonra oluşturulan şirketler
+    private final List<CompanySuggestion> recent = new CopyOnWriteArrayList<>();
+    private volatile boolean ready;
+    private volatile boolean complete;
+
+    public CompanySuggestIndex(CompanyRepository companyRepository,
+            ClusterSignalBus signalBus,
+            MeterRegistry meterRegistry,
+            @Value("${application.companies.suggest.max-entries:200000}") int maxEntries) {
+        this.companyRepository = companyRepository;
+        this.signalBus = signalBus;
+        this.maxEntries = maxEntries;
+
+        Gauge.builder("companies.suggest.index.size", this, CompanySuggestIndex::size).register(meterRegistry);
+
+        signalBus.subscribe(ClusterSignalBus.COMPANY_CREATED, new ClusterSignalBus.Listener() {
+            @Override
+            public void onSignal(String payload) {
+                String[] parts = payload.split(" ", 2);
+                if (parts.length == 2) {
+                    addLocal(new CompanySuggestion(UUID.fromString(parts[0]), parts[1], null, 0));
+                }
+            }
+
+            @Override
+            public void onResync() {
+                refresh();
+            }
+        });
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${application.companies.suggest.refresh-interval:600000}",
+            initialDelayString = "${application.companies.suggest.refresh-interval:600000}")
+    public void refresh() {
+        // Sorgudan önce eklenmiş şirketler commit edilmiştir: ya yeni snapshot'ta olurlar ya da max-entries
+        // dışında kalırlar ve CompanyService veritabanından bulur
+        Set<CompanySuggestion> addedBefore = new HashSet<>(recent);
+        try {
+            List<CompanyRepository.SuggestionRow> rows = companyRepository.findSuggestionRows(maxEntries);
+            List<CompanySuggestion> suggestions = new ArrayList<>(rows.size());
+            for (CompanyRepository.SuggestionRow row : rows) {
+                suggestions.add(new CompanySuggestion(row.getId(), row.getName(), row.getLogoUrl(),
+                        row.getUsageCount()));
+            }
+            snapshot = Snapshot.of(suggestions);
+            // Sorgu sırasında eklenenler bir sonraki yenilemeye kadar listede kalır; liste böylece sınırlı kalır
+            recent.removeIf(suggestion -> addedBefore.contains(suggestion) || snapshot.contains(suggestion));
+            complete = rows.size() < maxEntries;
+            ready = true;
+            log.debug("Company suggest index rebuilt with {} entries", rows.size());
+        } catch (DataAccessException e) {
+            // Önceki index (varsa) kullanılmaya devam eder
+            log.warn("Company suggest index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Yeni oluşturulan şirketi hemen önerilebilir yapar ve diğer instance'lara yayar.
+     * Commit'ten sonra çağrılmalı.
+     */
+    public void add(CompanyResponse company) {
+        if (addLocal(new CompanySuggestion(company.id(), company.name(), company.logoUrl(), 0))) {
+            signalBus.publish(ClusterSignalBus.COMPANY_CREATED, company.id() + " " + company.name());
+        }
+    }
+
+    private synchronized boolean addLocal(CompanySuggestion suggestion) {
+        if (snapshot.contains(suggestion) || recent.stream().anyMatch(r -> r.id().equals(suggestion.id()))) {
+            return false;
+        }
+        recent.add(suggestion);
+        return true;
+    }
+
+    public List<CompanySuggestion> suggest(String query, int limit) {
+        String prefix = CompanyNameCache.normalize(query);
+        List<CompanySuggestion> result = snapshot.suggest(prefix, limit);
+        if (!recent.isEmpty()) {
+            for (CompanySuggestion suggestion : recent) {
+                if (CompanyNameCache.normalize(suggestion.name()).startsWith(prefix)) {
+                    result.add(suggestion);
+                }
+            }
+            result.sort(RANKING);
+            if (result.size() > limit) {
+                result = new ArrayList<>(result.subList(0, limit));
+            }
+        }
+        return result;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // false ise en az kullanılan şirketler index dışında kalmıştır
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int size() {
+        return snapshot.byName.length + recent.size();
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = of(List.of());
+
+        // byName ile aynı sırada normalize adlar
+        final String[] names;
+        final CompanySuggestion[] byName;
+        final String[] rankedNames;
+        final CompanySuggestion[] byUsage;
+        final Set<UUID> ids;
+
+        private Snapshot(String[] names, CompanySuggestion[] byName, String[] rankedNames,
+                CompanySuggestion[] byUsage, Set<UUID> ids) {
+            this.names = names;
+            this.byName = byName;
+            this.rankedNames = rankedNames;
+            this.byUsage = byUsage;
+            this.ids = ids;
+        }
+
+        static Snapshot of(List<CompanySuggestion> suggestions) {
+            CompanySuggestion[] byUsage = suggestions.toArray(CompanySuggestion[]::new);
+            Arrays.sort(byUsage, RANKING);
+            String[] rankedNames = new String[byUsage.length];
+            for (int i = 0; i < byUsage.length; i++) {
+                rankedNames[i] = CompanyNameCache.normalize(byUsage[i].name());
+            }
+
+            Integer[] order = new Integer[byUsage.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> rankedNames[i]));
+            String[] names = new String[order.length];
+            CompanySuggestion[] byName = new CompanySuggestion[order.length];
+            Set<UUID> ids = new HashSet<>(order.length * 2);
+            for (int i = 0; i < order.length; i++) {
+                names[i] = rankedNames[order[i]];
+                byName[i] = byUsage[order[i]];
+                ids.add(byName[i].id());
+            }
+            return new Snapshot(names, byName, rankedNames, byUsage, ids);
+        }
+
+        boolean contains(CompanySuggestion suggestion) {
+            return ids.contains(suggestion.id());
+        }
+
+        List<CompanySuggestion> suggest(String prefix, int limit) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            List<CompanySuggestion> result = new ArrayList<>(Math.min(limit, to - from) + 1);
+            if (to - from <= RANGE_SCAN_THRESHOLD) {
+                result.addAll(Arrays.asList(byName).subList(from, to));
+                result.sort(RANKING);
+                return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+            }
+            for (int i = 0; i < byUsage.length && result.size() < limit; i++) {
+                if (rankedNames[i].startsWith(prefix)) {
+                    result.add(byUsage[i]);
+                }
+            }
+            return result;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = names.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (names[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.model.EmailFormat;
+import com.applyfollow.backend.model.EmailOutbox;
+import com.applyfollow.backend.model.EmailOutboxStatus;
+import com.applyfollow.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional email outbox. Mesajlar çağıranın transaction'ı içinde tabloya
+ * yazılır; ağ çağrısı EmailOutboxDispatcher tarafından transaction dışında yapılır.
+ */
+@Service
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long leaseMillis;
+
+    // Bekleyen iş yoksa dispatcher veritabanına gitmez.
+    // Başlangıçta true, önceki çalışmadan kalan mesajlar için bir kez bakılsın.
+    private final AtomicBoolean hasPending = new AtomicBoolean(true);
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository, MeterRegistry meterRegistry,
+            @Value("${application.email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${application.email.outbox.base-backoff:30000}") long baseBackoffMillis,
+            @Value("${application.email.outbox.max-backoff:3600000}") long maxBackoffMillis,
+            @Value("${application.email.outbox.lease:120000}") long leaseMillis) {
+        this.outboxRepository = outboxRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /** Çağıranın transaction'ına katılır; rollback olursa email de gönderilmez. */
+    @Transactional
+    public void enqueue(String recipient, String subject, String body, EmailFormat format) {
+        outboxRepository.save(new EmailOutbox(recipient, subject, body, format, LocalDateTime.now()));
+        meterRegistry.counter("email.outbox.enqueued", "format", format.name()).increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    hasPending.set(true);
+                }
+            });
+        } else {
+            hasPending.set(true);
+        }
+    }
+
+    /** Dispatcher için: bekleyen iş ipucunu alır ve sıfırlar. */
+    public boolean takePendingHint() {
+        return hasPending.getAndSet(false);
+    }
+
+    public void signalPending() {
+        hasPending.set(true);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasPendingMessages() {
+        return outboxRepository.existsByStatus(EmailOutboxStatus.PENDING);
+    }
+
+    /**
+     * Zamanı gelmiş mesajları SKIP LOCKED ile alır ve lease süresi kadar ileri atar.
+     * Transaction burada biter; gönderim sırasında bağlantı tutulmaz.
+     */
+    @Transactional
+    public List<EmailOutbox> claimBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = outboxRepository.findDueForUpdate(now, batchSize);
+        if (!batch.isEmpty()) {
+            List<UUID> ids = batch.stream().map(EmailOutbox::getId).toList();
+            outboxRepository.lease(ids, now.plus(Duration.ofMillis(leaseMillis)));
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void markSent(EmailOutbox message) {
+        outboxRepository.deleteById(message.getId());
+        meterRegistry.counter("email.outbox.dispatched", "result", "sent").increment();
+    }
+
+    @Transactional
+    public void markFailed(EmailOutbox message, String error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.DEAD);
+            meterRegistry.counter("email.outbox.dispatched", "result", "dead").increment();
+            log.error("Email {} to {} moved to dead-letter after {} attempts: {}", message.getId(),
+                    message.getRecipient(), attempts, error);
+        } else {
+            message.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(attempts))));
+            meterRegistry.counter("email.outbox.dispatched", "result", "retry").increment();
+            log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}", message.getId(),
+                    message.getRecipient(), attempts, message.getNextAttemptAt(), error);
+        }
+        outboxRepository.save(message);
+    }
+
+    // Exponential backoff + %20'ye kadar jitter
+    long backoffMillis(int attempts) {
+        long delay = baseBackoffMillis << Math.min(attempts - 1, 20);
+        delay = Math.min(delay, maxBackoffMillis);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+}
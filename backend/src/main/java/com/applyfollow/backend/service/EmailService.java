@@ -1,25 +1,43 @@
 package com.applyfollow.backend.service;
 
+import com.applyfollow.backend.config.OutboundHttpClient;
+import com.applyfollow.backend.model.EmailFormat;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClient;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
+@RequiredArgsConstructor
 public class EmailService {
 
+    static final String RESEND_DESTINATION = "resend";
+
+    private final EmailOutboxService emailOutboxService;
+    private final OutboundHttpClient outboundHttpClient;
+
     @Value("${resend.api.key}")
     private String resendApiKey;
 
+    @Value("${resend.api.url:https://api.resend.com}")
+    private String resendApiUrl;
+
     @Value("${app.frontend.url}")
     private String frontendUrls; // Could contain multiple comma-separated, taking first
 
+    private RestClient resendClient;
+
+    @PostConstruct
+    void init() {
+        resendClient = outboundHttpClient.restClient(RESEND_DESTINATION, resendApiUrl);
+    }
+
     public void sendPasswordResetEmail(String toEmail, String token) {
         String baseUrl = frontendUrls.contains(",") ? frontendUrls.split(",")[0] : frontendUrls;
         String resetUrl = baseUrl + "/reset-password?token=" + token;
@@ -42,25 +60,27 @@ public class EmailService {
                 "</div>" +
                 "</body></html>";
 
-        String url = "https://api.resend.com/emails";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(resendApiKey);
+        // Aynı transaction içinde outbox'a yazılır, gönderimi dispatcher yapar
+        emailOutboxService.enqueue(toEmail, "Reset Your ApplyFollow Password", htmlBody, EmailFormat.HTML);
+    }
 
+    /**
+     * Resend API üzerinden gönderir. Hata durumunda exception fırlatır;
+     * retry/backoff kararını EmailOutboxDispatcher verir.
+     */
+    public void deliver(String toEmail, String subject, String htmlBody) {
         Map<String, Object> body = new HashMap<>();
         body.put("from", "ApplyFollow <noreply@applyfollow.com>");
         body.put("to", List.of(toEmail));
-        body.put("subject", "Reset Your ApplyFollow Password");
+        body.put("subject", subject);
         body.put("html", htmlBody);
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-        RestTemplate restTemplate = new RestTemplate();
-
-        try {
-            restTemplate.postForEntity(url, request, String.class);
-        } catch (Exception e) {
-            System.err.println("Failed to send email via Resend API: " + e.getMessage());
-        }
+        resendClient.post()
+                .uri("/emails")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> headers.setBearerAuth(resendApiKey))
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
     }
 }
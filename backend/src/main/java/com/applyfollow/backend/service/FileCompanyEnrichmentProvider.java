@@ -0,0 +1,57 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.util.CompanyNameNormalizer;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Yerel JSON dosyasından okuyan provider; geliştirme ve testler içindir.
+ * Dosya biçimi: {"Google": {"website": "...", "linkedinUrl": "...", "logoUrl": "..."}, ...}.
+ * Anahtarlar CompanyNameNormalizer ile eşleştirilir, yani "Google LLC" de "Google" kaydını bulur.
+ */
+@Component
+@ConditionalOnProperty(name = "application.companies.enrichment.provider", havingValue = "file")
+@Slf4j
+public class FileCompanyEnrichmentProvider implements CompanyEnrichmentProvider {
+
+    private final Map<String, Result> entries = new HashMap<>();
+
+    public FileCompanyEnrichmentProvider(ObjectMapper objectMapper,
+            @Value("${application.companies.enrichment.file:company-enrichment.json}") String file) {
+        Path path = Path.of(file);
+        if (!Files.isReadable(path)) {
+            log.warn("Company enrichment file {} not found, file provider returns no results", path.toAbsolutePath());
+            return;
+        }
+        try {
+            Map<String, Result> raw = objectMapper.readValue(path.toFile(), new TypeReference<Map<String, Result>>() {
+            });
+            raw.forEach((name, result) -> entries.put(CompanyNameNormalizer.normalize(name), result));
+            log.info("Loaded {} company enrichment entries from {}", entries.size(), path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read company enrichment file " + path, e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public Optional<Result> lookup(String companyName) {
+        return Optional.ofNullable(entries.get(CompanyNameNormalizer.normalize(companyName)))
+                .filter(result -> !result.isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package com.applyfollow.backend.service;
 
+import com.applyfollow.backend.model.EmailFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
@@ -12,23 +13,29 @@ import org.springframework.stereotype.Service;
 public class MailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxService emailOutboxService;
 
     public void sendEmail(String to, String subject, String body) {
-        try {
-            // Temporarily disabled for production stability until SMTP is configured
-            log.info("[MOCK] Would have sent email to: {} with subject: {}", to, subject);
+        // Outbox'a yazılır, SMTP gönderimi EmailOutboxDispatcher tarafından yapılır
+        emailOutboxService.enqueue(to, subject, body, EmailFormat.TEXT);
+    }
+
+    /**
+     * Düz metin emaili SMTP ile gönderir. Hata durumunda exception fırlatır;
+     * retry/backoff kararını EmailOutboxDispatcher verir.
+     */
+    public void deliver(String to, String subject, String body) {
+        // Temporarily disabled for production stability until SMTP is configured
+        log.info("[MOCK] Would have sent email to: {} with subject: {}", to, subject);
 
-            /*
-             * SimpleMailMessage message = new SimpleMailMessage();
-             * message.setFrom("applyfollow.noreply@gmail.com");
-             * message.setTo(to);
-             * message.setSubject(subject);
-             * message.setText(body);
-             * mailSender.send(message);
-             * log.info("Email sent to: {}", to);
-             */
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-        }
+        /*
+         * SimpleMailMessage message = new SimpleMailMessage();
+         * message.setFrom("applyfollow.noreply@gmail.com");
+         * message.setTo(to);
+         * message.setSubject(subject);
+         * message.setText(body);
+         * mailSender.send(message);
+         * log.info("Email sent to: {}", to);
+         */
     }
 }
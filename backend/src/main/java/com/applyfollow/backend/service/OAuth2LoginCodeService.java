@@ -0,0 +1,50 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.exception.InvalidTokenException;
+import com.applyfollow.backend.model.OAuth2LoginCode;
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.OAuth2LoginCodeRepository;
+import com.applyfollow.backend.util.TokenHashUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * OAuth2 başarılı girişinden sonra token'lar yerine verilen tek kullanımlık, kısa ömürlü kod.
+ */
+@Service
+@RequiredArgsConstructor
+public class OAuth2LoginCodeService {
+
+    private final OAuth2LoginCodeRepository loginCodeRepository;
+
+    @Value("${app.oauth2.login-code.ttl:60000}")
+    private long codeTtl;
+
+    @Transactional
+    public String issue(User user) {
+        String rawCode = TokenHashUtils.generateToken();
+        loginCodeRepository.save(new OAuth2LoginCode(TokenHashUtils.sha256(rawCode), user,
+                LocalDateTime.now().plus(Duration.ofMillis(codeTtl))));
+        return rawCode;
+    }
+
+    /** Kodu tüketir; bilinmeyen, süresi dolmuş veya zaten kullanılmış kodlar reddedilir. */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public User consume(String rawCode) {
+        OAuth2LoginCode code = loginCodeRepository.findByCodeHashWithUser(TokenHashUtils.sha256(rawCode))
+                .orElseThrow(() -> new InvalidTokenException("Invalid login code"));
+
+        if (loginCodeRepository.consume(code.getId()) == 0 || code.isExpired()) {
+            throw new InvalidTokenException("Invalid login code");
+        }
+        if (!code.getUser().isActive()) {
+            throw new InvalidTokenException("Your account is suspended");
+        }
+        return code.getUser();
+    }
+}
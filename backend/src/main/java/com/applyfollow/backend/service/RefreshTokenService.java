@@ -0,0 +1,93 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.exception.InvalidTokenException;
+import com.applyfollow.backend.model.RefreshToken;
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.RefreshTokenRepository;
+import com.applyfollow.backend.util.TokenHashUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token üretimi ve rotation'ı. Yenileme, parola hash'i yerine unique
+ * index üzerinden tek bir SHA-256 lookup ile yapılır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.security.jwt.refresh-token.expiration:2592000000}")
+    private long refreshExpiration;
+
+    /** Yeni bir login için yeni token ailesi başlatır. */
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID());
+    }
+
+    /**
+     * Token'ı tüketir ve aynı aileden yenisini döner. Daha önce kullanılmış bir
+     * token gelirse çalınmış kabul edilir ve tüm aile iptal edilir.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(TokenHashUtils.sha256(rawToken))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        if (current.isRevoked() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId());
+            meterRegistry.counter("auth.refresh_token.reuse").increment();
+            log.warn("Refresh token reuse detected for user {}, revoked {} tokens in family",
+                    current.getUser().getId(), revoked);
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        if (current.isExpired()) {
+            throw new InvalidTokenException("Refresh token expired");
+        }
+
+        User user = current.getUser();
+        if (!user.isActive()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new InvalidTokenException("Your account is suspended");
+        }
+
+        return new Rotation(user, create(user, current.getFamilyId()));
+    }
+
+    /** Logout: token'ın ait olduğu ailedeki tüm tokenları iptal eder. */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashWithUser(TokenHashUtils.sha256(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    /** Parola değişimi / hesap askıya alma sonrası tüm oturumları kapatır. */
+    @Transactional
+    public void revokeAll(User user) {
+        refreshTokenRepository.revokeAllByUser(user);
+    }
+
+    private String create(User user, UUID familyId) {
+        String rawToken = TokenHashUtils.generateToken();
+
+        refreshTokenRepository.save(new RefreshToken(TokenHashUtils.sha256(rawToken), user, familyId,
+                LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration))));
+        return rawToken;
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+}
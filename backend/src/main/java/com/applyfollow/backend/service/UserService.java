@@ -1,8 +1,13 @@
 package com.applyfollow.backend.service;
 
 import com.applyfollow.backend.config.JwtService;
+import com.applyfollow.backend.config.PrincipalCache;
+import com.applyfollow.backend.config.SecurityVersionRegistry;
 import com.applyfollow.backend.dto.AuthResponse;
 import com.applyfollow.backend.dto.LoginRequest;
+import com.applyfollow.backend.dto.NotificationPreferences;
+import com.applyfollow.backend.dto.OAuth2CodeExchangeRequest;
+import com.applyfollow.backend.dto.RefreshTokenRequest;
 import com.applyfollow.backend.dto.RegisterRequest;
 import com.applyfollow.backend.dto.UpdateProfileRequest;
 import com.applyfollow.backend.dto.ChangePasswordRequest;
@@ -12,6 +17,7 @@ import com.applyfollow.backend.exception.ResourceNotFoundException;
 import com.applyfollow.backend.model.Role;
 import com.applyfollow.backend.model.User;
 import com.applyfollow.backend.repository.UserRepository;
+import com.applyfollow.backend.util.TokenHashUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -38,6 +44,10 @@ public class UserService {
     private final AuthenticationManager authenticationManager;
     private final PasswordResetTokenRepository tokenRepository;
     private final EmailService emailService;
+    private final PrincipalCache principalCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final RefreshTokenService refreshTokenService;
+    private final OAuth2LoginCodeService oAuth2LoginCodeService;
 
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.findByEmail(request.email()).isPresent()) {
@@ -55,9 +65,10 @@ public class UserService {
 
         userRepository.save(user);
         var jwtToken = jwtService.generateToken(user);
+        var refreshToken = refreshTokenService.issue(user);
 
-        return new AuthResponse(jwtToken, user.getId(), user.getEmail(), user.getFullName(), user.getRole().name(),
-                "User registered successfully", user.getPhoneNumber(), user.getAddress(), user.getLinkedinUrl(),
+        return new AuthResponse(jwtToken, refreshToken, user.getId(), user.getEmail(), user.getFullName(),
+                user.getRole().name(), "User registered successfully", user.getPhoneNumber(), user.getAddress(), user.getLinkedinUrl(),
                 user.getGithubUrl(), user.getWebsiteUrl(), user.getSummary());
     }
 
@@ -73,10 +84,38 @@ public class UserService {
                 new UsernamePasswordAuthenticationToken(request.email(), request.password()));
 
         var jwtToken = jwtService.generateToken(user);
+        var refreshToken = refreshTokenService.issue(user);
 
-        return new AuthResponse(jwtToken, user.getId(), user.getEmail(), user.getFullName(), user.getRole().name(),
-                "Login successful", user.getPhoneNumber(), user.getAddress(), user.getLinkedinUrl(),
-                user.getGithubUrl(), user.getWebsiteUrl(), user.getSummary());
+        return new AuthResponse(jwtToken, refreshToken, user.getId(), user.getEmail(), user.getFullName(),
+                user.getRole().name(), "Login successful", user.getPhoneNumber(), user.getAddress(),
+                user.getLinkedinUrl(), user.getGithubUrl(), user.getWebsiteUrl(), user.getSummary());
+    }
+
+    // Parola doğrulaması yok: sadece refresh token lookup + yeni JWT imzası
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        var rotation = refreshTokenService.rotate(request.refreshToken());
+        var user = rotation.user();
+        var jwtToken = jwtService.generateToken(user);
+
+        return new AuthResponse(jwtToken, rotation.refreshToken(), user.getId(), user.getEmail(),
+                user.getFullName(), user.getRole().name(), "Token refreshed", user.getPhoneNumber(),
+                user.getAddress(), user.getLinkedinUrl(), user.getGithubUrl(), user.getWebsiteUrl(),
+                user.getSummary());
+    }
+
+    // OAuth2 yönlendirmesindeki tek kullanımlık kodu login ile aynı token çiftine çevirir
+    public AuthResponse exchangeOAuth2Code(OAuth2CodeExchangeRequest request) {
+        var user = oAuth2LoginCodeService.consume(request.code());
+        var jwtToken = jwtService.generateToken(user);
+        var refreshToken = refreshTokenService.issue(user);
+
+        return new AuthResponse(jwtToken, refreshToken, user.getId(), user.getEmail(), user.getFullName(),
+                user.getRole().name(), "Login successful", user.getPhoneNumber(), user.getAddress(),
+                user.getLinkedinUrl(), user.getGithubUrl(), user.getWebsiteUrl(), user.getSummary());
+    }
+
+    public void logout(RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
     }
 
     public Page<UserResponse> getAllUsers(Pageable pageable) {
@@ -96,6 +135,7 @@ public class UserService {
         user.setGithubUrl(request.githubUrl());
         user.setWebsiteUrl(request.websiteUrl());
         user.setSummary(request.summary());
+        String previousEmail = user.getEmail();
 
         if (request.email() != null && !request.email().isEmpty() && !request.email().equals(user.getEmail())) {
             if (userRepository.findByEmail(request.email()).isPresent()) {
@@ -105,8 +145,9 @@ public class UserService {
         }
 
         userRepository.save(user);
+        principalCache.evict(previousEmail);
         // Not regenerating token on profile update for simplicity
-        return new AuthResponse(null, user.getId(), user.getEmail(), user.getFullName(), user.getRole().name(),
+        return new AuthResponse(null, null, user.getId(), user.getEmail(), user.getFullName(), user.getRole().name(),
                 "Profile updated", user.getPhoneNumber(), user.getAddress(), user.getLinkedinUrl(),
                 user.getGithubUrl(), user.getWebsiteUrl(), user.getSummary());
     }
@@ -120,23 +161,44 @@ public class UserService {
         }
 
         user.setPasswordHash(passwordEncoder.encode(request.newPassword()));
+        securityVersionRegistry.bump(user);
         userRepository.save(user);
+        refreshTokenService.revokeAll(user);
+        principalCache.evict(user.getEmail());
     }
 
     public AuthResponse getProfile(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        return new AuthResponse(null, user.getId(), user.getEmail(), user.getFullName(), user.getRole().name(),
+        return new AuthResponse(null, null, user.getId(), user.getEmail(), user.getFullName(), user.getRole().name(),
                 "Profile fetched", user.getPhoneNumber(), user.getAddress(), user.getLinkedinUrl(),
                 user.getGithubUrl(), user.getWebsiteUrl(), user.getSummary());
     }
 
+    public NotificationPreferences getNotificationPreferences(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return new NotificationPreferences(user.isReminderDigest());
+    }
+
+    public NotificationPreferences updateNotificationPreferences(UUID userId, NotificationPreferences request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (user.isReminderDigest() != request.reminderDigest()) {
+            user.setReminderDigest(request.reminderDigest());
+            userRepository.save(user);
+        }
+        return new NotificationPreferences(user.isReminderDigest());
+    }
+
     @Transactional
     public void forgotPassword(ForgotPasswordRequest request) {
         userRepository.findByEmail(request.getEmail()).ifPresent(user -> {
-            String token = UUID.randomUUID().toString();
-            PasswordResetToken resetToken = new PasswordResetToken(token, user, LocalDateTime.now().plusHours(1));
+            String token = TokenHashUtils.generateToken();
+            PasswordResetToken resetToken = new PasswordResetToken(TokenHashUtils.sha256(token), user,
+                    LocalDateTime.now().plusHours(1));
             // Clear previous tokens for this user
             tokenRepository.deleteByUser(user);
             tokenRepository.save(resetToken);
@@ -146,7 +208,7 @@ public class UserService {
 
     @Transactional
     public void resetPassword(ResetPasswordRequest request) {
-        PasswordResetToken resetToken = tokenRepository.findByToken(request.getToken())
+        PasswordResetToken resetToken = tokenRepository.findByTokenHash(TokenHashUtils.sha256(request.getToken()))
                 .orElseThrow(() -> new BadRequestException("Invalid or expired password reset token"));
 
         if (resetToken.isExpired()) {
@@ -156,7 +218,10 @@ public class UserService {
 
         User user = resetToken.getUser();
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        securityVersionRegistry.bump(user);
         userRepository.save(user);
+        refreshTokenService.revokeAll(user);
+        principalCache.evict(user.getEmail());
 
         tokenRepository.delete(resetToken);
     }
@@ -0,0 +1,100 @@
+package com.applyfollow.backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Şirket adlarını eşleştirme için kanonik biçime getirir ve benzerliklerini ölçer.
+ * "Google LLC", "google, inc." ve "Gööglé" gibi yazımlar aynı anahtara ("google") iner.
+ */
+public final class CompanyNameNormalizer {
+
+    // Sondan atılan hukuki ekler (noktalama kaldırıldıktan sonraki halleriyle)
+    private static final Set<String> LEGAL_SUFFIXES = new HashSet<>(Arrays.asList(
+            "inc", "incorporated", "llc", "llp", "lp", "ltd", "limited", "corp", "corporation", "co", "company",
+            "plc", "gmbh", "ag", "kg", "se", "sa", "sas", "sarl", "srl", "spa", "bv", "nv", "oy", "ab", "asa",
+            "pty", "pvt", "private", "kk", "as", "sti", "holding", "holdings", "group"));
+
+    private CompanyNameNormalizer() {
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT)
+                .replace('ı', 'i')
+                .replace("ß", "ss")
+                .replace("æ", "ae")
+                .replace("ø", "o")
+                .replace("&", " and ")
+                // "L.L.C." ve "A.Ş." gibi kısaltmalar tek kelimeye iner
+                .replace(".", "")
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+        if (folded.isEmpty()) {
+            return folded;
+        }
+
+        List<String> tokens = new ArrayList<>(Arrays.asList(folded.split(" ")));
+        // Ad tamamen eklerden oluşuyorsa ("Company") ilk kelime korunur
+        while (tokens.size() > 1 && LEGAL_SUFFIXES.contains(tokens.get(tokens.size() - 1))) {
+            tokens.remove(tokens.size() - 1);
+        }
+        if (tokens.size() > 1 && tokens.get(0).equals("the")) {
+            tokens.remove(0);
+        }
+        return String.join(" ", tokens);
+    }
+
+    /**
+     * Aday grupları için kaba anahtar: normalize adın ilk kelimesi.
+     * Sadece aynı bloktaki adlar birbiriyle karşılaştırılır.
+     */
+    public static String blockingKey(String normalizedName) {
+        int space = normalizedName.indexOf(' ');
+        return space < 0 ? normalizedName : normalizedName.substring(0, space);
+    }
+
+    /**
+     * Trigram Jaccard benzerliği (pg_trgm similarity() ile aynı yaklaşım), 0..1 arası.
+     */
+    public static double similarity(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        Set<String> left = trigrams(a);
+        Set<String> right = trigrams(b);
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0.0;
+        }
+        int shared = 0;
+        for (String trigram : left) {
+            if (right.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (left.size() + right.size() - shared);
+    }
+
+    private static Set<String> trigrams(String value) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : value.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
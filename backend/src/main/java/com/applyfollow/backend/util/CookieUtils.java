@@ -3,12 +3,10 @@ package com.applyfollow.backend.util;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.util.SerializationUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.HttpHeaders;
 
-import java.util.Base64;
 import java.util.Optional;
 
 @Slf4j
@@ -57,20 +55,4 @@ public class CookieUtils {
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
         log.info("Step: DeleteCookie - Expire header sent for: {}", name);
     }
-
-    public static String serialize(Object object) {
-        // En temiz ve karakter sorunu yaratmayan URL Safe Base64
-        return Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(SerializationUtils.serialize(object));
-    }
-
-    public static <T> T deserialize(Cookie cookie, Class<T> cls) {
-        try {
-            byte[] decodedBytes = Base64.getUrlDecoder().decode(cookie.getValue());
-            return cls.cast(SerializationUtils.deserialize(decodedBytes));
-        } catch (Exception e) {
-            log.error("Step: Deserialize - Critical failure for {}: {}", cookie.getName(), e.getMessage());
-            return null;
-        }
-    }
 }
@@ -0,0 +1,49 @@
+package com.applyfollow.backend.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Zaman sıralı UUID (RFC 9562, versiyon 7).
+ * İlk 48 bit Unix milisaniye zamanı olduğu için yeni kayıtlar B-tree index'in
+ * sağ ucuna eklenir. Aynı milisaniyede üretilenler 12 bitlik sayaçla artan
+ * sırada kalır; kalan 62 bit rastgeledir. Mevcut v4 id'lerle aynı kolonda yaşar.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_SEQUENCE = 0xFFF;
+    private static final UuidV7 INSTANCE = new UuidV7();
+
+    private long lastMillis;
+    private int sequence;
+
+    UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        return INSTANCE.generate(System.currentTimeMillis(), RANDOM.nextLong());
+    }
+
+    UUID generate(long nowMillis, long random) {
+        long timestamp;
+        int seq;
+        synchronized (this) {
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                // Sayaç rastgele başlar ama üst yarı taşma payı olarak bırakılır
+                sequence = (int) (random >>> 53) & (MAX_SEQUENCE >> 1);
+            } else if (++sequence > MAX_SEQUENCE) {
+                // Sayaç doldu veya saat geri gitti: sıralamayı korumak için bir sonraki milisaniyeyi ödünç al
+                lastMillis++;
+                sequence = 0;
+            }
+            timestamp = lastMillis;
+            seq = sequence;
+        }
+
+        long mostSigBits = (timestamp << 16) | 0x7000L | seq;
+        long leastSigBits = (random & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,185 @@
+-- Baseline: ddl-auto=update ile oluşan şemanın aynısı.
+-- Mevcut veritabanlarında da güvenle çalışsın diye IF NOT EXISTS kullanılır
+-- (spring.flyway.baseline-version=0 ile bu migration mevcut şemalarda da uygulanır).
+
+CREATE TABLE IF NOT EXISTS users (
+    id                  uuid         NOT NULL PRIMARY KEY,
+    created_at          timestamp(6) NOT NULL,
+    updated_at          timestamp(6) NOT NULL,
+    email               varchar(255) NOT NULL UNIQUE,
+    password_hash       varchar(255),
+    full_name           varchar(255),
+    summary             text,
+    phone_number        varchar(255),
+    address             varchar(255),
+    linkedin_url        varchar(255),
+    github_url          varchar(255),
+    website_url         varchar(255),
+    cv_title            varchar(255),
+    theme_color         varchar(255),
+    accent_color        varchar(255),
+    profile_image       text,
+    role                varchar(255) CHECK (role IN ('USER', 'ADMIN')),
+    provider            varchar(255) CHECK (provider IN ('LOCAL', 'GOOGLE', 'GITHUB')),
+    provider_id         varchar(255),
+    active              boolean      NOT NULL,
+    market_data_consent boolean      NOT NULL,
+    security_version    integer      NOT NULL DEFAULT 0,
+    reminder_digest     boolean      NOT NULL DEFAULT true
+);
+
+-- ddl-auto döneminde bu kolonlar olmadan oluşturulmuş tablolar için
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version integer NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS reminder_digest boolean NOT NULL DEFAULT true;
+
+CREATE TABLE IF NOT EXISTS companies (
+    id           uuid         NOT NULL PRIMARY KEY,
+    created_at   timestamp(6) NOT NULL,
+    updated_at   timestamp(6) NOT NULL,
+    name         varchar(255) NOT NULL UNIQUE,
+    website      varchar(255),
+    linkedin_url varchar(255),
+    logo_url     varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS applications (
+    id         uuid         NOT NULL PRIMARY KEY,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    user_id    uuid         NOT NULL REFERENCES users (id),
+    company_id uuid         NOT NULL REFERENCES companies (id),
+    position   varchar(255),
+    status     varchar(255) CHECK (status IN ('APPLIED', 'INTERVIEW', 'OFFER', 'REJECTED', 'GHOSTED')),
+    job_url    varchar(255),
+    notes      text,
+    applied_at timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS application_contacts (
+    id             uuid         NOT NULL PRIMARY KEY,
+    created_at     timestamp(6) NOT NULL,
+    updated_at     timestamp(6) NOT NULL,
+    application_id uuid         NOT NULL REFERENCES applications (id),
+    name           varchar(255) NOT NULL,
+    role           varchar(255),
+    email          varchar(255),
+    phone          varchar(255),
+    linked_in      varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS calendar_events (
+    id                   uuid         NOT NULL PRIMARY KEY,
+    created_at           timestamp(6) NOT NULL,
+    updated_at           timestamp(6) NOT NULL,
+    user_id              uuid         NOT NULL REFERENCES users (id),
+    title                varchar(255) NOT NULL,
+    date                 date         NOT NULL,
+    time                 time(6),
+    type                 varchar(255),
+    notes                text,
+    has_alarm            boolean,
+    notified             boolean,
+    alarm_time           time(6),
+    reminder_lease_until timestamp(6)
+);
+
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS reminder_lease_until timestamp(6);
+
+CREATE TABLE IF NOT EXISTS certificates (
+    id         uuid         NOT NULL PRIMARY KEY,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    user_id    uuid         NOT NULL REFERENCES users (id),
+    name       varchar(255) NOT NULL,
+    issuer     varchar(255) NOT NULL,
+    date       date,
+    url        varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS educations (
+    id             uuid    NOT NULL PRIMARY KEY,
+    user_id        uuid REFERENCES users (id),
+    school_name    varchar(255),
+    degree         varchar(255),
+    field_of_study varchar(255),
+    start_date     date,
+    end_date       date,
+    is_current     boolean NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS experiences (
+    id           uuid    NOT NULL PRIMARY KEY,
+    user_id      uuid REFERENCES users (id),
+    company_name varchar(255),
+    position     varchar(255),
+    description  varchar(2000),
+    start_date   date,
+    end_date     date,
+    is_current   boolean NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS languages (
+    id         uuid         NOT NULL PRIMARY KEY,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    user_id    uuid         NOT NULL REFERENCES users (id),
+    name       varchar(255) NOT NULL,
+    level      varchar(255) NOT NULL CHECK (level IN ('BASIC', 'INTERMEDIATE', 'ADVANCED', 'FLUENT', 'NATIVE'))
+);
+
+CREATE TABLE IF NOT EXISTS skills (
+    id      uuid NOT NULL PRIMARY KEY,
+    user_id uuid REFERENCES users (id),
+    name    varchar(255),
+    level   varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS contact_messages (
+    id         uuid         NOT NULL PRIMARY KEY,
+    created_at timestamp(6) NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    name       varchar(255) NOT NULL,
+    email      varchar(255) NOT NULL,
+    subject    varchar(255) NOT NULL,
+    message    text         NOT NULL,
+    replied    boolean      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    id          uuid         NOT NULL PRIMARY KEY,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    user_id     uuid         NOT NULL REFERENCES users (id),
+    token       varchar(64)  NOT NULL UNIQUE,
+    expiry_date timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          uuid         NOT NULL PRIMARY KEY,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    user_id     uuid         NOT NULL REFERENCES users (id),
+    token_hash  varchar(64)  NOT NULL UNIQUE,
+    family_id   uuid         NOT NULL,
+    expiry_date timestamp(6) NOT NULL,
+    revoked     boolean      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              uuid          NOT NULL PRIMARY KEY,
+    created_at      timestamp(6)  NOT NULL,
+    updated_at      timestamp(6)  NOT NULL,
+    recipient       varchar(255)  NOT NULL,
+    subject         varchar(255)  NOT NULL,
+    body            text          NOT NULL,
+    format          varchar(16)   NOT NULL CHECK (format IN ('HTML', 'TEXT')),
+    status          varchar(16)   NOT NULL CHECK (status IN ('PENDING', 'DEAD')),
+    attempts        integer       NOT NULL,
+    next_attempt_at timestamp(6)  NOT NULL,
+    last_error      varchar(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,17 @@
+-- Sık çalışan sorgular için indexler
+
+-- ApplicationRepository.findAllByUserId: kullanıcının başvuruları appliedAt DESC sıralı
+CREATE INDEX IF NOT EXISTS idx_applications_user_applied_at ON applications (user_id, applied_at DESC);
+
+-- ApplicationRepository.findByUserIdAndCompany_NameAndPosition: şirket adı companies.name unique ile id'ye çözülür
+CREATE INDEX IF NOT EXISTS idx_applications_user_company_position ON applications (user_id, company_id, position);
+
+-- CalendarEventRepository.findAllByUserId ve countByUserIdAndDate
+CREATE INDEX IF NOT EXISTS idx_calendar_events_user_date ON calendar_events (user_id, date);
+
+-- Bekleyen alarmlar (reminder kuyruğu refill ve claim sorguları); gönderilmiş alarmlar index'e girmez
+CREATE INDEX IF NOT EXISTS idx_calendar_events_pending_alarm ON calendar_events (date, alarm_time)
+    WHERE has_alarm = true AND notified = false;
+
+-- CompanyRepository.findByNameIgnoreCase: Spring Data upper(name) = upper(?) üretir
+CREATE INDEX IF NOT EXISTS idx_companies_name_upper ON companies (upper(name));
@@ -0,0 +1,23 @@
+-- GET /api/applications keyset sayfalama ve filtreleri
+
+-- Keyset sıralaması (applied_at, id) üzerinden; eski boş kayıtlar oluşturulma zamanıyla doldurulur
+UPDATE applications SET applied_at = created_at WHERE applied_at IS NULL;
+ALTER TABLE applications ALTER COLUMN applied_at SET NOT NULL;
+
+-- Filtresiz ve tarih aralığı filtreli sayfalar; id eşit appliedAt değerlerinde sırayı sabitler.
+-- V2'deki (user_id, applied_at DESC) index'inin yerini alır
+CREATE INDEX IF NOT EXISTS idx_applications_user_applied_at_id ON applications (user_id, applied_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_applications_user_applied_at;
+
+-- status filtresi
+CREATE INDEX IF NOT EXISTS idx_applications_user_status_applied_at
+    ON applications (user_id, status, applied_at DESC, id DESC);
+
+-- companyId filtresi
+CREATE INDEX IF NOT EXISTS idx_applications_user_company_applied_at
+    ON applications (user_id, company_id, applied_at DESC, id DESC);
+
+-- q filtresi: lower(position) ve lower(companies.name) üzerinde '%q%' araması
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_applications_position_trgm ON applications USING gin (lower(position) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_companies_name_trgm ON companies USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,60 @@
+-- Başvuru oluşturma tek INSERT ... ON CONFLICT ile idempotent hale gelir
+
+-- Aynı kullanıcı/şirket/normalize pozisyon için var olan kopyalar en eski kayıtta birleştirilir
+CREATE TEMPORARY TABLE application_duplicates ON COMMIT DROP AS
+SELECT id, keep_id
+FROM (SELECT id,
+             first_value(id) OVER (PARTITION BY user_id, company_id, lower(btrim(position))
+                                   ORDER BY created_at, id) AS keep_id
+      FROM applications
+      WHERE position IS NOT NULL) ranked
+WHERE id <> keep_id;
+
+UPDATE application_contacts c SET application_id = d.keep_id
+FROM application_duplicates d WHERE c.application_id = d.id;
+
+-- Silinen kopyalar arşivlenir; kaybolmasınlar diye notları tutulan kayda eklenir
+CREATE TABLE IF NOT EXISTS applications_merged_archive (
+    id          uuid         NOT NULL PRIMARY KEY,
+    merged_into uuid         NOT NULL,
+    archived_at timestamp(6) NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    user_id     uuid         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    company_id  uuid         NOT NULL,
+    position    varchar(255),
+    status      varchar(255),
+    job_url     varchar(255),
+    notes       text,
+    applied_at  timestamp(6)
+);
+
+INSERT INTO applications_merged_archive (id, merged_into, archived_at, created_at, updated_at, user_id, company_id,
+                                         position, status, job_url, notes, applied_at)
+SELECT a.id, d.keep_id, now(), a.created_at, a.updated_at, a.user_id, a.company_id, a.position, a.status, a.job_url,
+       a.notes, a.applied_at
+FROM applications a
+         JOIN application_duplicates d ON d.id = a.id;
+
+UPDATE applications k SET notes = concat_ws(E'\n\n', k.notes, m.notes)
+FROM (SELECT d.keep_id, string_agg(a.notes, E'\n\n' ORDER BY a.created_at, a.id) AS notes
+      FROM application_duplicates d
+               JOIN applications a ON a.id = d.id
+               JOIN applications kept ON kept.id = d.keep_id
+      WHERE btrim(a.notes) <> '' AND a.notes IS DISTINCT FROM kept.notes
+      GROUP BY d.keep_id) m
+WHERE k.id = m.keep_id;
+
+DELETE FROM applications a USING application_duplicates d WHERE a.id = d.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_applications_user_company_position
+    ON applications (user_id, company_id, lower(btrim(position)));
+
+-- V2'deki (user_id, company_id, position) index'inin yerini unique index alır
+DROP INDEX IF EXISTS idx_applications_user_company_position;
+
+-- Idempotency-Key header'ı; tekrar gönderilen istek aynı kaydı döndürür
+ALTER TABLE applications ADD COLUMN IF NOT EXISTS idempotency_key varchar(255);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_applications_user_idempotency_key
+    ON applications (user_id, idempotency_key) WHERE idempotency_key IS NOT NULL;
@@ -0,0 +1,5 @@
+-- CompanyRepository.findOrInsertByNormalizedName: şirket adı lower(btrim(name)) ile çözülür
+CREATE INDEX IF NOT EXISTS idx_companies_name_normalized ON companies (lower(btrim(name)));
+
+-- findByNameIgnoreCase kaldırıldı; V2'deki upper(name) index'i artık kullanılmıyor
+DROP INDEX IF EXISTS idx_companies_name_upper;
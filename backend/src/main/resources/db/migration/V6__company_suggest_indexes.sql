@@ -0,0 +1,5 @@
+-- Şirket önerileri kullanım sayısına göre sıralanır: applications.company_id üzerinden sayım
+-- (mevcut index'ler user_id ile başladığı için şirket bazlı sayımda kullanılamıyor)
+CREATE INDEX IF NOT EXISTS idx_applications_company_id ON applications (company_id);
+
+-- Önek araması veritabanına düştüğünde V3'teki lower(name) trigram index'i kullanılır (idx_companies_name_trgm)
@@ -0,0 +1,8 @@
+-- Birleştirilen şirketlerin eski adları: yeni başvurular eski adla gelse de hayatta kalan şirkete çözülür
+CREATE TABLE IF NOT EXISTS company_aliases (
+    alias      varchar(255) NOT NULL PRIMARY KEY, -- lower(btrim(name))
+    company_id uuid         NOT NULL REFERENCES companies (id),
+    created_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_company_aliases_company_id ON company_aliases (company_id);
@@ -0,0 +1,12 @@
+-- OAuth2 girişinden sonra yönlendirme URL'ine token yerine konan tek kullanımlık kısa ömürlü kod.
+-- Ham kod saklanmaz, SHA-256 hash'i tutulur; frontend kodu POST /api/auth/oauth2/token ile token çiftine çevirir.
+CREATE TABLE IF NOT EXISTS oauth2_login_codes (
+    id          uuid         NOT NULL PRIMARY KEY,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6) NOT NULL,
+    user_id     uuid         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    code_hash   varchar(64)  NOT NULL UNIQUE,
+    expiry_date timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_oauth2_login_codes_expiry ON oauth2_login_codes (expiry_date);
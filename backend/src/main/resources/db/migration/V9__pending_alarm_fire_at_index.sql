@@ -0,0 +1,5 @@
+-- Reminder refill'i bekleyen alarmları alarm zamanı sırasıyla (fire_at, id) keyset ile okur;
+-- ifade CalendarEventRepository.FIRE_AT ile aynı olmalı
+CREATE INDEX IF NOT EXISTS idx_calendar_events_pending_alarm_fire_at
+    ON calendar_events ((date + coalesce(alarm_time, time '24:00')), id)
+    WHERE has_alarm = true AND notified = false;
@@ -0,0 +1,88 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunOnHashingPool() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.timer("auth.password.hash", "op", "encode").count());
+        assertEquals(2, meterRegistry.timer("auth.password.hash", "op", "matches").count());
+    }
+
+    @Test
+    void upgradeEncoding_WhenCostFactorOutdated_ShouldReturnTrue() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, meterRegistry);
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void encode_WhenQueueFull_ShouldRejectWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        // Bir iş çalışıyor, bir iş kuyrukta -> üçüncüsü reddedilmeli
+        Thread running = new Thread(() -> encoder.encode("a"));
+        running.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread queued = new Thread(() -> encoder.encode("b"));
+        queued.start();
+        while (encoder.getQueueDepth() < 1) {
+            Thread.onSpinWait();
+        }
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> encoder.encode("c"));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        assertEquals(1.0, meterRegistry.counter("auth.password.hash.rejected").count());
+
+        release.countDown();
+        running.join();
+        queued.join();
+    }
+}
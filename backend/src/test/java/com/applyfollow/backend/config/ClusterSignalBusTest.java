@@ -0,0 +1,65 @@
+package com.applyfollow.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClusterSignalBusTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ClusterSignalBus bus;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        bus = new ClusterSignalBus(jdbcTemplate, new SimpleMeterRegistry(), "jdbc:postgresql://localhost/test",
+                "user", "pass", true, "test_signals", 1000);
+    }
+
+    @Test
+    void dispatch_ShouldRouteToTopicListenersOnly() {
+        List<String> received = new ArrayList<>();
+        bus.subscribe(ClusterSignalBus.PRINCIPAL_EVICT, received::add);
+        bus.subscribe(ClusterSignalBus.ALARM_CANCELLED, payload -> fail("wrong topic"));
+
+        bus.dispatch("other-instance " + ClusterSignalBus.PRINCIPAL_EVICT + " user@test.com");
+
+        assertEquals(List.of("user@test.com"), received);
+    }
+
+    @Test
+    void dispatch_ShouldIgnoreOwnAndMalformedMessages() {
+        List<String> received = new ArrayList<>();
+        bus.subscribe(ClusterSignalBus.PRINCIPAL_EVICT, received::add);
+
+        bus.dispatch(bus.instanceId + " " + ClusterSignalBus.PRINCIPAL_EVICT + " user@test.com");
+        bus.dispatch("garbage");
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void publish_ShouldNotifyOnConfiguredChannelWithSenderId() {
+        bus.publish(ClusterSignalBus.ALARM_CANCELLED, "42");
+
+        verify(jdbcTemplate).queryForList("SELECT pg_notify(?, ?)", "test_signals",
+                bus.instanceId + " " + ClusterSignalBus.ALARM_CANCELLED + " 42");
+    }
+
+    @Test
+    void publish_WhenNotPostgres_ShouldBeNoOp() {
+        ClusterSignalBus local = new ClusterSignalBus(jdbcTemplate, new SimpleMeterRegistry(), "jdbc:h2:mem:test",
+                "sa", "", true, "test_signals", 1000);
+
+        local.publish(ClusterSignalBus.ALARM_CANCELLED, "42");
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,106 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.model.Role;
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.UserRepository;
+import com.applyfollow.backend.security.oauth2.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtService jwtService;
+    private SecurityVersionRegistry securityVersionRegistry;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "c2VjcmV0LWtleS1mb3ItdW5pdC10ZXN0cy1vbmx5LTMyLWJ5dGVzLWxvbmc");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60000L);
+        jwtService.init();
+
+        when(userRepository.findNonZeroSecurityVersions()).thenReturn(List.of());
+        securityVersionRegistry = new SecurityVersionRegistry(userRepository, mock(ClusterSignalBus.class));
+        securityVersionRegistry.init();
+
+        filter = new JwtAuthenticationFilter(jwtService, principalCache, securityVersionRegistry);
+        user = User.builder().id(UUID.randomUUID()).email("filter@test.com").fullName("Filter User")
+                .role(Role.USER).active(true).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_ShouldBuildPrincipalFromClaimsWithoutLookup() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", true);
+
+        MockHttpServletResponse response = doFilter(jwtService.generateToken(user));
+
+        assertEquals(200, response.getStatus());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertEquals(user.getId(), principal.getId());
+        assertEquals("Filter User", principal.getFullName());
+        assertEquals("USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verify(principalCache, never()).get(anyString());
+    }
+
+    @Test
+    void statelessMode_WhenSecurityVersionBumped_ShouldRejectOldToken() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", true);
+        String oldToken = jwtService.generateToken(user);
+        securityVersionRegistry.bump(user);
+
+        MockHttpServletResponse response = doFilter(oldToken);
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void defaultMode_ShouldLoadPrincipalThroughCache() throws Exception {
+        when(principalCache.get("filter@test.com")).thenReturn(user);
+
+        MockHttpServletResponse response = doFilter(jwtService.generateToken(user));
+
+        assertEquals(200, response.getStatus());
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    private MockHttpServletResponse doFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/applications");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
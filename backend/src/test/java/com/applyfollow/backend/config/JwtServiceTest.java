@@ -0,0 +1,69 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.model.Role;
+import com.applyfollow.backend.model.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdW5pdC10ZXN0cy1vbmx5LTMyLWJ5dGVzLWxvbmc";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newService(60000);
+        user = User.builder().id(UUID.randomUUID()).email("jwt@test.com").role(Role.USER).active(true).build();
+    }
+
+    @Test
+    void verify_ShouldReturnClaimsOfValidToken() {
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertEquals("jwt@test.com", verified.username());
+        assertFalse(verified.isExpired());
+        assertTrue(verified.isValidFor(user));
+    }
+
+    @Test
+    void verify_WhenSignatureTampered_ShouldThrow() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    void verify_WhenExpired_ShouldThrow() {
+        String token = newService(-1000).generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+    }
+
+    @Test
+    void isValidFor_WhenUserSuspended_ShouldReturnFalse() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(user));
+        user.setActive(false);
+
+        assertFalse(verified.isValidFor(user));
+    }
+
+    private JwtService newService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,101 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.exception.CircuitOpenException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger hits = new AtomicInteger();
+    private HttpServer stub;
+    private RestClient client;
+    private OutboundHttpClient outboundHttpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/emails", exchange -> {
+            hits.incrementAndGet();
+            byte[] body = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status.get(), body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stub.start();
+
+        outboundHttpClient = new OutboundHttpClient(meterRegistry, 1000, 2000, 3, 60000);
+        client = outboundHttpClient.restClient("resend", "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+    }
+
+    @Test
+    void successfulCall_ShouldRecordLatencyPerDestination() {
+        client.post().uri("/emails").retrieve().toBodilessEntity();
+
+        assertEquals(1, meterRegistry.timer("outbound.http.requests", "destination", "resend",
+                "outcome", "SUCCESS").count());
+        assertEquals(CircuitBreaker.State.CLOSED, outboundHttpClient.circuitState("resend"));
+    }
+
+    @Test
+    void serverErrors_ShouldOpenCircuitAndShortCircuitFurtherCalls() {
+        status.set(503);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpServerErrorException.class,
+                    () -> client.post().uri("/emails").retrieve().toBodilessEntity());
+        }
+
+        CircuitOpenException ex = assertThrows(CircuitOpenException.class,
+                () -> client.post().uri("/emails").retrieve().toBodilessEntity());
+
+        assertEquals(3, hits.get());
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        assertEquals(CircuitBreaker.State.OPEN, outboundHttpClient.circuitState("resend"));
+        assertEquals(1.0, meterRegistry.counter("outbound.http.short_circuited", "destination", "resend").count());
+        assertEquals(3, meterRegistry.timer("outbound.http.requests", "destination", "resend",
+                "outcome", "SERVER_ERROR").count());
+    }
+
+    @Test
+    void clientErrors_ShouldNotOpenCircuit() {
+        status.set(422);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpClientErrorException.class,
+                    () -> client.post().uri("/emails").retrieve().toBodilessEntity());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, outboundHttpClient.circuitState("resend"));
+    }
+
+    @Test
+    void halfOpen_ShouldCloseAfterSuccessfulTrial() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1000);
+        breaker.onFailure(0);
+
+        assertFalse(breaker.tryAcquire(500));
+        assertTrue(breaker.tryAcquire(1000));
+        assertFalse(breaker.tryAcquire(1001)); // tek deneme çağrısı
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,145 @@
+package com.applyfollow.backend.config;
+
+import com.applyfollow.backend.model.Role;
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private ClusterSignalBus signalBus;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        user = User.builder().id(UUID.randomUUID()).email("cache@test.com").role(Role.USER).active(true)
+                .summary("long summary").profileImage("base64-image").build();
+    }
+
+    @Test
+    void get_ShouldHitDatabaseOnlyOnce() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 100, 60000);
+        when(userRepository.findByEmail("cache@test.com")).thenReturn(Optional.of(user));
+
+        UserDetails first = cache.get("cache@test.com");
+        UserDetails second = cache.get("cache@test.com");
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByEmail("cache@test.com");
+        assertEquals(1.0, meterRegistry.counter("auth.principal.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("auth.principal.cache", "result", "miss").count());
+    }
+
+    @Test
+    void get_ShouldNotKeepLargeProfileColumns() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 100, 60000);
+        when(userRepository.findByEmail("cache@test.com")).thenReturn(Optional.of(user));
+
+        User cached = (User) cache.get("cache@test.com");
+
+        assertEquals(user.getId(), cached.getId());
+        assertNull(cached.getSummary());
+        assertNull(cached.getProfileImage());
+    }
+
+    @Test
+    void evict_ShouldForceReload() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 100, 60000);
+        when(userRepository.findByEmail("cache@test.com")).thenReturn(Optional.of(user));
+
+        cache.get("cache@test.com");
+        cache.evict("cache@test.com");
+        cache.get("cache@test.com");
+
+        verify(userRepository, times(2)).findByEmail("cache@test.com");
+        verify(signalBus).publish(ClusterSignalBus.PRINCIPAL_EVICT, "cache@test.com");
+    }
+
+    @Test
+    void get_WhenEvictedDuringLoad_ShouldNotCacheStaleUser() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 100, 60000);
+        when(userRepository.findByEmail("cache@test.com")).thenAnswer(invocation -> {
+            cache.evict("cache@test.com"); // ör. kullanıcı askıya alındı, okunan satır artık eski
+            return Optional.of(user);
+        });
+
+        cache.get("cache@test.com");
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evict_InsideTransaction_ShouldApplyAfterCommit() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 100, 60000);
+        when(userRepository.findByEmail("cache@test.com")).thenReturn(Optional.of(user));
+        cache.get("cache@test.com");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict("cache@test.com");
+            assertEquals(1, cache.size());
+            verify(signalBus, never()).publish(any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, cache.size());
+        verify(signalBus).publish(ClusterSignalBus.PRINCIPAL_EVICT, "cache@test.com");
+    }
+
+    @Test
+    void get_WhenTtlElapsed_ShouldReload() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 100, 0);
+        when(userRepository.findByEmail("cache@test.com")).thenReturn(Optional.of(user));
+
+        cache.get("cache@test.com");
+        cache.get("cache@test.com");
+
+        verify(userRepository, times(2)).findByEmail("cache@test.com");
+    }
+
+    @Test
+    void get_ShouldStayWithinMaxSize() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 2, 60000);
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+
+        cache.get("a@test.com");
+        cache.get("b@test.com");
+        cache.get("c@test.com");
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void get_WhenUserMissing_ShouldThrow() {
+        PrincipalCache cache = new PrincipalCache(userRepository, signalBus, meterRegistry, 100, 60000);
+        when(userRepository.findByEmail("missing@test.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("missing@test.com"));
+    }
+}
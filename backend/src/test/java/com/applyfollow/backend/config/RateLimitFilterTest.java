@@ -0,0 +1,181 @@
+package com.applyfollow.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties properties = new RateLimitProperties(true, 4, 600000, 1000, Map.of(
+                "auth", new RateLimitProperties.Group(List.of("/api/auth/**"),
+                        new RateLimitProperties.Limit(3, 1),
+                        new RateLimitProperties.Limit(2, 1))));
+        filter = new RateLimitFilter(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void whenIpExceedsLimit_ShouldReturn429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, doFilter("10.0.0.1", "/api/auth/forgot-password", "user" + i + "@test.com").getStatus());
+        }
+
+        MockHttpServletResponse response = doFilter("10.0.0.1", "/api/auth/forgot-password", "other@test.com");
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) >= 1);
+        assertEquals(1.0, meterRegistry.counter("http.rate_limit.rejected", "group", "auth", "scope", "ip").count());
+    }
+
+    @Test
+    void whenSameEmailTargetedFromManyIps_ShouldLimitByEmail() throws Exception {
+        assertEquals(200, doFilter("10.0.0.1", "/api/auth/login", "Victim@test.com").getStatus());
+        assertEquals(200, doFilter("10.0.0.2", "/api/auth/login", "victim@test.com").getStatus());
+
+        MockHttpServletResponse response = doFilter("10.0.0.3", "/api/auth/login", "victim@test.com");
+
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void whenPathNotInAnyGroup_ShouldNotLimit() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, doFilter("10.0.0.1", "/api/applications", null).getStatus());
+        }
+    }
+
+    @Test
+    void bodyShouldRemainReadableDownstream() throws Exception {
+        MockHttpServletRequest request = request("10.0.0.9", "/api/auth/login", "reader@test.com");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("reader@test.com"));
+    }
+
+    @Test
+    void whenContentLengthUnknown_ShouldStillLimitByEmail() throws Exception {
+        for (int i = 1; i <= 2; i++) {
+            assertEquals(200, doFilter(chunked(request("10.0.1." + i, "/api/auth/login", "chunked@test.com"))).getStatus());
+        }
+
+        MockHttpServletResponse response = doFilter(chunked(request("10.0.1.3", "/api/auth/login", "chunked@test.com")));
+
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void whenBodyTooLargeToInspect_ShouldReturn413() throws Exception {
+        MockHttpServletRequest request = chunked(request("10.0.2.1", "/api/auth/login", null));
+        request.setContent(("{\"email\":\"big@test.com\",\"pad\":\""
+                + "x".repeat(RateLimitFilter.MAX_INSPECTED_BODY_BYTES) + "\"}").getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(413, doFilter(request).getStatus());
+    }
+
+    @Test
+    void whenPathPercentEncodedOrUnderContextPath_ShouldStillLimit() throws Exception {
+        assertEquals(200, doFilter("10.0.3.1", "/api/auth/login", "encoded@test.com").getStatus());
+
+        MockHttpServletRequest encoded = request("10.0.3.2", "/api/%61uth/login", "encoded@test.com");
+        assertEquals(200, doFilter(encoded).getStatus());
+
+        MockHttpServletRequest withContextPath = request("10.0.3.3", "/app/api/auth/login", "encoded@test.com");
+        withContextPath.setContextPath("/app");
+        assertEquals(429, doFilter(withContextPath).getStatus());
+    }
+
+    @Test
+    void cachedBody_ShouldSupportReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("10.0.4.1", "/api/auth/login", "async@test.com"), new MockHttpServletResponse(), chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = new boolean[1];
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(in.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertTrue(allRead[0]);
+        assertTrue(read.toString(StandardCharsets.UTF_8).contains("async@test.com"));
+    }
+
+    private MockHttpServletResponse doFilter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    // Chunked transfer: Content-Length başlığı yok
+    private static MockHttpServletRequest chunked(MockHttpServletRequest source) {
+        MockHttpServletRequest request = new MockHttpServletRequest(source.getMethod(), source.getRequestURI()) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setRemoteAddr(source.getRemoteAddr());
+        request.setContentType(source.getContentType());
+        request.setContent(source.getContentAsByteArray());
+        return request;
+    }
+
+    private MockHttpServletResponse doFilter(String ip, String path, String email) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(ip, path, email), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String ip, String path, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(ip);
+        if (email != null) {
+            request.setContentType("application/json");
+            request.setContent(("{\"email\":\"" + email + "\",\"password\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+}
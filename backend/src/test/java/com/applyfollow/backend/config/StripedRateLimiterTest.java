@@ -0,0 +1,39 @@
+package com.applyfollow.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedRateLimiterTest {
+
+    @Test
+    void tryAcquire_WithManyUniqueKeys_ShouldStayWithinMaxBuckets() {
+        StripedRateLimiter limiter = new StripedRateLimiter(4, 40);
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < 10000; i++) {
+            limiter.tryAcquire("ip:" + i, 5, 1, now);
+        }
+
+        assertTrue(limiter.size() <= 40);
+        assertTrue(limiter.overflowEvictions() > 0);
+    }
+
+    @Test
+    void tryAcquire_WhenFull_ShouldDropRefilledBucketsBeforeActiveOnes() {
+        StripedRateLimiter limiter = new StripedRateLimiter(1, 2);
+        long now = System.currentTimeMillis();
+        limiter.tryAcquire("idle", 1, 60, now);   // 1 sn sonra tekrar dolar
+        limiter.tryAcquire("active", 5, 1, now);
+        limiter.tryAcquire("active", 5, 1, now);
+        limiter.tryAcquire("idle", 1, 60, now + 500); // LRU'da en yeni, ama dolmak üzere
+
+        limiter.tryAcquire("new", 5, 1, now + 2000);
+
+        // "active" korunmalı: 3 token'ı kalmış olmalı, 4. istek reddedilir
+        assertEquals(0, limiter.tryAcquire("active", 5, 1, now + 2000));
+        assertEquals(0, limiter.tryAcquire("active", 5, 1, now + 2000));
+        assertEquals(0, limiter.tryAcquire("active", 5, 1, now + 2000));
+        assertTrue(limiter.tryAcquire("active", 5, 1, now + 2000) > 0);
+    }
+}
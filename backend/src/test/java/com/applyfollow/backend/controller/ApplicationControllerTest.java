@@ -1,5 +1,7 @@
 package com.applyfollow.backend.controller;
 
+import com.applyfollow.backend.dto.ApplicationFilter;
+import com.applyfollow.backend.dto.ApplicationPageResponse;
 import com.applyfollow.backend.dto.ApplicationRequest;
 import com.applyfollow.backend.dto.ApplicationResponse;
 import com.applyfollow.backend.dto.CompanyResponse;
@@ -25,6 +27,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -88,15 +91,66 @@ public class ApplicationControllerTest {
                 ApplicationResponse response = new ApplicationResponse(UUID.randomUUID(), company, "Developer",
                                 ApplicationStatus.APPLIED, "http://job.url", "notes", LocalDateTime.now());
 
-                when(applicationService.createApplication(any(ApplicationRequest.class), any(UUID.class)))
-                                .thenReturn(response);
+                when(applicationService.createApplication(any(ApplicationRequest.class), any(UUID.class), eq("retry-key")))
+                                .thenReturn(new ApplicationService.Creation(response, true));
 
                 mockMvc.perform(post("/api/applications")
                                 .header("X-User-Id", mockUser.getId().toString())
+                                .header("Idempotency-Key", "retry-key")
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(objectMapper.writeValueAsString(request)))
                                 .andExpect(status().isCreated())
                                 .andExpect(jsonPath("$.company.name").value("Company B"));
         }
-}
 
+        @Test
+        public void createApplication_WhenExistingRowReturned_ShouldReturnOk() throws Exception {
+                ApplicationRequest request = new ApplicationRequest("Company B", "Developer", ApplicationStatus.APPLIED,
+                                null, null, null);
+
+                CompanyResponse company = new CompanyResponse(UUID.randomUUID(), "Company B", null, null, null,
+                                LocalDateTime.now());
+                ApplicationResponse existing = new ApplicationResponse(UUID.randomUUID(), company, "Developer",
+                                ApplicationStatus.APPLIED, null, null, LocalDateTime.now());
+
+                when(applicationService.createApplication(any(ApplicationRequest.class), any(UUID.class), eq("retry-key")))
+                                .thenReturn(new ApplicationService.Creation(existing, false));
+
+                mockMvc.perform(post("/api/applications")
+                                .header("Idempotency-Key", "retry-key")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").value(existing.id().toString()));
+        }
+
+        @Test
+        public void getApplicationsPage_WithLimit_ShouldReturnPage() throws Exception {
+                CompanyResponse company = new CompanyResponse(UUID.randomUUID(), "Company C", null, null, null,
+                                LocalDateTime.now());
+                ApplicationResponse appResp = new ApplicationResponse(UUID.randomUUID(), company, "Dev",
+                                ApplicationStatus.INTERVIEW, null, null, LocalDateTime.now());
+                ApplicationFilter filter = new ApplicationFilter(ApplicationStatus.INTERVIEW, null,
+                                java.time.LocalDate.of(2024, 1, 1), null, "dev");
+
+                when(applicationService.getApplicationsPage(any(UUID.class), eq(filter), eq(null), eq(10)))
+                                .thenReturn(new ApplicationPageResponse(List.of(appResp), "next"));
+
+                mockMvc.perform(get("/api/applications")
+                                .param("limit", "10")
+                                .param("status", "INTERVIEW")
+                                .param("from", "2024-01-01")
+                                .param("q", "dev"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].company.name").value("Company C"))
+                                .andExpect(jsonPath("$.nextCursor").value("next"));
+        }
+
+        @Test
+        public void getApplicationsPage_WithInvalidStatus_ShouldReturnBadRequest() throws Exception {
+                mockMvc.perform(get("/api/applications")
+                                .param("limit", "10")
+                                .param("status", "UNKNOWN"))
+                                .andExpect(status().isBadRequest());
+        }
+}
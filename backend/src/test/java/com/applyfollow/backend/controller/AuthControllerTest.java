@@ -37,7 +37,7 @@ public class AuthControllerTest {
         @Test
         public void register_ShouldReturnAuthResponse_WhenRequestIsValid() throws Exception {
                 RegisterRequest request = new RegisterRequest("Test User", "test@example.com", "password123", false);
-                AuthResponse response = new AuthResponse("jwt-token", UUID.randomUUID(), "test@example.com",
+                AuthResponse response = new AuthResponse("jwt-token", "refresh-token", UUID.randomUUID(), "test@example.com",
                                 "Test User", "USER",
                                 "Success", null, null, null, null, null, null);
 
@@ -53,7 +53,7 @@ public class AuthControllerTest {
         @Test
         public void login_ShouldReturnAuthResponse_WhenCredentialsAreCorrect() throws Exception {
                 LoginRequest request = new LoginRequest("test@example.com", "password123");
-                AuthResponse response = new AuthResponse("jwt-token", UUID.randomUUID(), "test@example.com",
+                AuthResponse response = new AuthResponse("jwt-token", "refresh-token", UUID.randomUUID(), "test@example.com",
                                 "Test User", "USER",
                                 "Success", null, null, null, null, null, null);
 
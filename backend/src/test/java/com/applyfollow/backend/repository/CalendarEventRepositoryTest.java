@@ -0,0 +1,67 @@
+package com.applyfollow.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@Transactional
+class CalendarEventRepositoryTest {
+
+    @Autowired
+    private CalendarEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findPendingAlarmsAfter_ShouldReturnEarliestAlarmsFirstRegardlessOfId() {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, created_at, updated_at, active, email, market_data_consent) "
+                + "VALUES (?, now(), now(), true, ?, false)", userId, userId + "@calendar.test");
+        LocalDateTime now = LocalDateTime.now();
+        // Low-water'dan fazla ileri tarihli alarm küçük id'lerde, zamanı gelmiş alarm en büyük id'de
+        for (int i = 1; i <= 1001; i++) {
+            LocalDateTime alarmAt = now.plusMinutes(30 + i % 240);
+            insertAlarm(new UUID(0, i), userId, alarmAt.toLocalDate(), alarmAt.toLocalTime());
+        }
+        UUID dueId = new UUID(-1, -1);
+        insertAlarm(dueId, userId, now.minusMinutes(1).toLocalDate(), now.minusMinutes(1).toLocalTime());
+        // Alarm saati yoksa etkinlik günü bitince çalar
+        UUID endOfDayId = new UUID(-1, -2);
+        insertAlarm(endOfDayId, userId, now.toLocalDate().minusDays(2), null);
+
+        List<CalendarEventRepository.AlarmSlot> page = eventRepository.findPendingAlarmsAfter(
+                LocalDate.EPOCH.atStartOfDay(), new UUID(0, 0), now.plusHours(6), 100);
+
+        // Paylaşılan veritabanında başka bekleyen alarmlar da olabilir; sadece bu testin satırlarına bakılır
+        List<UUID> ours = page.stream().map(CalendarEventRepository.AlarmSlot::getId)
+                .filter(id -> id.equals(dueId) || id.equals(endOfDayId) || id.getMostSignificantBits() == 0)
+                .toList();
+        assertEquals(List.of(endOfDayId, dueId), ours.subList(0, 2));
+
+        CalendarEventRepository.AlarmSlot last = page.get(page.size() - 1);
+        LocalDateTime lastFireAt = last.getDate().atTime(last.getAlarmTime());
+        List<CalendarEventRepository.AlarmSlot> next = eventRepository.findPendingAlarmsAfter(lastFireAt, last.getId(),
+                now.plusHours(6), 100);
+        LocalDateTime nextFireAt = next.get(0).getDate().atTime(next.get(0).getAlarmTime());
+        assertFalse(nextFireAt.isBefore(lastFireAt));
+    }
+
+    private void insertAlarm(UUID id, UUID userId, LocalDate date, LocalTime alarmTime) {
+        jdbcTemplate.update("INSERT INTO calendar_events (id, created_at, updated_at, user_id, title, date, has_alarm, "
+                + "notified, alarm_time) VALUES (?, now(), now(), ?, 'Interview', ?, true, false, ?)",
+                id, userId, date, alarmTime);
+    }
+}
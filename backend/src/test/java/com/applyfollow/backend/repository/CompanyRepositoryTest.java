@@ -0,0 +1,70 @@
+package com.applyfollow.backend.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CompanyRepositoryTest {
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String name = "RaceCo " + UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM companies WHERE lower(btrim(name)) = lower(btrim(?))", name);
+    }
+
+    @Test
+    void findOrInsertByNormalizedName_WithConcurrentCaseVariants_ShouldCreateOneCompany() throws Exception {
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CompletableFuture<UUID> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            UUID id = findOrInsert(name);
+            firstInserted.countDown();
+            sleep(500); // ikinci transaction bu sırada aynı ad için bekler
+            return id;
+        }));
+        assertTrue(firstInserted.await(10, TimeUnit.SECONDS));
+        CompletableFuture<UUID> second = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> findOrInsert("  " + name.toLowerCase() + " ")));
+
+        assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM companies WHERE lower(btrim(name)) = lower(btrim(?))", Integer.class, name));
+    }
+
+    private UUID findOrInsert(String companyName) {
+        companyRepository.lockNormalizedName(companyName);
+        return companyRepository.findOrInsertByNormalizedName(UUID.randomUUID(), LocalDateTime.now(), companyName)
+                .orElseThrow()
+                .getId();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.applyfollow.backend.scheduler;
+
+import com.applyfollow.backend.dto.CompanyDedupReport;
+import com.applyfollow.backend.exception.ServiceUnavailableException;
+import com.applyfollow.backend.repository.ApplicationRepository;
+import com.applyfollow.backend.repository.CompanyRepository;
+import com.applyfollow.backend.service.CompanyNameCache;
+import com.applyfollow.backend.service.CompanySuggestIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyDeduplicationJobTest {
+
+    @Mock
+    private CompanyRepository companyRepository;
+    @Mock
+    private ApplicationRepository applicationRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private CompanyNameCache companyNameCache;
+    @Mock
+    private CompanySuggestIndex companySuggestIndex;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CompanyDeduplicationJob job;
+    private CompanyRepository.DedupRow google;
+    private CompanyRepository.DedupRow googleLlc;
+    private CompanyRepository.DedupRow googleCloud;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        job = new CompanyDeduplicationJob(companyRepository, applicationRepository, transactionTemplate, jdbcTemplate,
+                companyNameCache, companySuggestIndex, meterRegistry, 0.8, 500, 200, true);
+        google = row("Google", 10, LocalDateTime.now().minusDays(10));
+        googleLlc = row("google LLC", 2, LocalDateTime.now().minusDays(20));
+        googleCloud = row("Google Cloud", 3, LocalDateTime.now());
+        advisoryLock(true);
+    }
+
+    @Test
+    void run_DryRun_ShouldReportGroupsWithoutChanges() {
+        when(companyRepository.findDedupCandidates(any(), anyInt())).thenReturn(List.of(google, googleLlc, googleCloud));
+
+        CompanyDedupReport report = job.run(true);
+
+        assertEquals(3, report.companiesScanned());
+        assertEquals(1, report.duplicateGroups());
+        CompanyDedupReport.Group group = report.groups().get(0);
+        assertEquals(google.getId(), group.survivorId()); // en çok kullanılan kalır
+        assertEquals(List.of("google LLC"), group.duplicates().stream().map(CompanyDedupReport.Duplicate::name).toList());
+        assertEquals(0, report.companiesMerged());
+        verifyNoInteractions(applicationRepository, transactionTemplate, companyNameCache, companySuggestIndex);
+    }
+
+    @Test
+    void run_ShouldRepointInBatchesThenAliasAndDelete() {
+        when(companyRepository.findDedupCandidates(any(), anyInt())).thenReturn(List.of(google, googleLlc));
+        runTransactionsInline();
+        when(applicationRepository.repointCompanyBatch(googleLlc.getId(), google.getId(), 500))
+                .thenReturn(500, 120, 0);
+        when(applicationRepository.countByCompany_Id(googleLlc.getId())).thenReturn(0L);
+        when(companyRepository.deleteIfUnused(googleLlc.getId())).thenReturn(1);
+
+        CompanyDedupReport report = job.run(false);
+
+        assertEquals(1, report.companiesMerged());
+        assertEquals(620, report.applicationsRepointed());
+        verify(companyRepository).upsertAlias(eq("google LLC"), eq(google.getId()), any());
+        verify(companyRepository).repointAliases(googleLlc.getId(), google.getId());
+        verify(companyNameCache).evictCompany(googleLlc.getId());
+        verify(companySuggestIndex).refresh();
+        assertEquals(620.0, meterRegistry.counter("companies.dedup.applications.repointed").count());
+    }
+
+    @Test
+    void run_WhenApplicationsRemain_ShouldKeepDuplicateCompany() {
+        when(companyRepository.findDedupCandidates(any(), anyInt())).thenReturn(List.of(google, googleLlc));
+        runTransactionsInline();
+        when(applicationRepository.repointCompanyBatch(googleLlc.getId(), google.getId(), 500)).thenReturn(0);
+        when(applicationRepository.countByCompany_Id(googleLlc.getId())).thenReturn(1L);
+
+        CompanyDedupReport report = job.run(false);
+
+        assertEquals(0, report.companiesMerged());
+        assertEquals(1, report.skipped());
+        verify(companyRepository, never()).deleteIfUnused(any());
+        verify(companyRepository, never()).upsertAlias(any(), any(), any());
+        verifyNoInteractions(companyNameCache, companySuggestIndex);
+    }
+
+    @Test
+    void run_WhenRepointBatchConflicts_ShouldSkipCompany() {
+        when(companyRepository.findDedupCandidates(any(), anyInt())).thenReturn(List.of(google, googleLlc));
+        runTransactionsInline();
+        when(applicationRepository.repointCompanyBatch(googleLlc.getId(), google.getId(), 500))
+                .thenReturn(500)
+                .thenThrow(new DataIntegrityViolationException("ux_applications_user_company_position"));
+
+        CompanyDedupReport report = job.run(false);
+
+        assertEquals(0, report.companiesMerged());
+        assertEquals(1, report.skipped());
+        assertEquals(500, report.applicationsRepointed());
+        verify(applicationRepository, never()).countByCompany_Id(any());
+        verify(companyRepository, never()).deleteIfUnused(any());
+        verifyNoInteractions(companyNameCache, companySuggestIndex);
+    }
+
+    @Test
+    void run_WhenLockedByAnotherInstance_ShouldThrowServiceUnavailable() throws Exception {
+        advisoryLock(false);
+
+        assertThrows(ServiceUnavailableException.class, () -> job.run(false));
+
+        verifyNoInteractions(companyRepository, applicationRepository, transactionTemplate);
+    }
+
+    // Advisory lock sorguları sahte bağlantıda çalışır; acquired false ise lock başka instance'ta
+    @SuppressWarnings("unchecked")
+    private void advisoryLock(boolean acquired) throws Exception {
+        Connection connection = mock(Connection.class, withSettings().strictness(Strictness.LENIENT));
+        PreparedStatement statement = mock(PreparedStatement.class, withSettings().strictness(Strictness.LENIENT));
+        ResultSet result = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        when(connection.prepareStatement(any())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+        when(result.getBoolean(1)).thenReturn(acquired);
+        lenient().when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                ((ConnectionCallback<Object>) invocation.getArgument(0)).doInConnection(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    private static CompanyRepository.DedupRow row(String name, long usage, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        return new CompanyRepository.DedupRow() {
+            public UUID getId() { return id; }
+            public String getName() { return name; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+            public long getUsageCount() { return usage; }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.applyfollow.backend.scheduler;
+
+import com.applyfollow.backend.model.EmailFormat;
+import com.applyfollow.backend.model.EmailOutbox;
+import com.applyfollow.backend.service.EmailOutboxService;
+import com.applyfollow.backend.service.EmailService;
+import com.applyfollow.backend.service.MailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxService outboxService;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private MailService mailService;
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailOutboxDispatcher(outboxService, emailService, mailService, 10);
+    }
+
+    @Test
+    void dispatch_WhenNoPendingHint_ShouldNotQueryDatabase() {
+        when(outboxService.takePendingHint()).thenReturn(false);
+
+        dispatcher.dispatch();
+
+        verify(outboxService, never()).claimBatch(anyInt());
+    }
+
+    @Test
+    void dispatch_ShouldRouteByFormatAndMarkSent() {
+        EmailOutbox html = message(EmailFormat.HTML);
+        EmailOutbox text = message(EmailFormat.TEXT);
+        when(outboxService.takePendingHint()).thenReturn(true);
+        when(outboxService.claimBatch(10)).thenReturn(List.of(html, text));
+
+        dispatcher.dispatch();
+
+        verify(emailService).deliver("user@test.com", "Subject", "Body");
+        verify(mailService).deliver("user@test.com", "Subject", "Body");
+        verify(outboxService).markSent(html);
+        verify(outboxService).markSent(text);
+        verify(outboxService, never()).signalPending();
+    }
+
+    @Test
+    void dispatch_WhenDeliveryFails_ShouldMarkFailedAndKeepPolling() {
+        EmailOutbox html = message(EmailFormat.HTML);
+        when(outboxService.takePendingHint()).thenReturn(true);
+        when(outboxService.claimBatch(10)).thenReturn(List.of(html));
+        doThrow(new IllegalStateException("Resend down")).when(emailService)
+                .deliver(anyString(), anyString(), anyString());
+        when(outboxService.hasPendingMessages()).thenReturn(true);
+
+        dispatcher.dispatch();
+
+        verify(outboxService).markFailed(html, "Resend down");
+        verify(outboxService, never()).markSent(html);
+        verify(outboxService).signalPending();
+    }
+
+    private EmailOutbox message(EmailFormat format) {
+        EmailOutbox message = new EmailOutbox("user@test.com", "Subject", "Body", format, LocalDateTime.now());
+        message.setId(UUID.randomUUID());
+        return message;
+    }
+}
@@ -0,0 +1,60 @@
+package com.applyfollow.backend.scheduler;
+
+import com.applyfollow.backend.repository.OAuth2LoginCodeRepository;
+import com.applyfollow.backend.repository.PasswordResetTokenRepository;
+import com.applyfollow.backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiredTokenCleanupSchedulerTest {
+
+    @Mock
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private OAuth2LoginCodeRepository oAuth2LoginCodeRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExpiredTokenCleanupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ExpiredTokenCleanupScheduler(passwordResetTokenRepository, refreshTokenRepository,
+                oAuth2LoginCodeRepository,
+                meterRegistry, 100, 3);
+    }
+
+    @Test
+    void purgeExpiredTokens_ShouldDeleteInBatchesUntilPartialBatch() {
+        when(passwordResetTokenRepository.deleteExpiredBatch(any(), eq(100))).thenReturn(100, 100, 42);
+        when(refreshTokenRepository.deleteExpiredBatch(any(), eq(100))).thenReturn(0);
+
+        scheduler.purgeExpiredTokens();
+
+        verify(passwordResetTokenRepository, times(3)).deleteExpiredBatch(any(), eq(100));
+        verify(refreshTokenRepository, times(1)).deleteExpiredBatch(any(), eq(100));
+        assertEquals(242.0, meterRegistry.counter("tokens.purged", "type", "password_reset").count());
+        assertEquals(0.0, meterRegistry.counter("tokens.purged", "type", "refresh").count());
+    }
+
+    @Test
+    void purgeExpiredTokens_ShouldStopAtMaxBatches() {
+        when(passwordResetTokenRepository.deleteExpiredBatch(any(), eq(100))).thenReturn(100);
+        when(refreshTokenRepository.deleteExpiredBatch(any(), eq(100))).thenReturn(0);
+
+        scheduler.purgeExpiredTokens();
+
+        verify(passwordResetTokenRepository, times(3)).deleteExpiredBatch(any(), eq(100));
+    }
+}
@@ -1,63 +1,317 @@
 package com.applyfollow.backend.scheduler;
 
+import com.applyfollow.backend.config.ClusterSignalBus;
 import com.applyfollow.backend.model.CalendarEvent;
+import com.applyfollow.backend.model.User;
 import com.applyfollow.backend.repository.CalendarEventRepository;
 import com.applyfollow.backend.service.MailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationSchedulerTest {
 
+    @Mock
+    private ClusterSignalBus signalBus;
+
     @Mock
     private CalendarEventRepository eventRepository;
 
     @Mock
     private MailService mailService;
 
-    @InjectMocks
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private NotificationScheduler scheduler;
 
+    @BeforeEach
+    void setUp() {
+        scheduler = new NotificationScheduler(eventRepository, mailService, transactionTemplate, meterRegistry, signalBus);
+        ReflectionTestUtils.setField(scheduler, "horizonMillis", 6 * 3600 * 1000L);
+        ReflectionTestUtils.setField(scheduler, "batchSize", 100);
+        ReflectionTestUtils.setField(scheduler, "leaseMillis", 120000L);
+        ReflectionTestUtils.setField(scheduler, "queueCapacity", 10000);
+        ReflectionTestUtils.setField(scheduler, "lowWaterMark", 1000);
+    }
+
+    @Test
+    void sendEventReminders_WhenNothingDue_ShouldNotQueryDatabase() {
+        scheduler.schedule(event(LocalDateTime.now().plusHours(1)));
+
+        scheduler.sendEventReminders();
+
+        verifyNoInteractions(eventRepository, transactionTemplate, mailService);
+        assertEquals(1, scheduler.queuedAlarms());
+    }
+
+    @Test
+    void sendEventReminders_WhenAlarmDue_ShouldSendAndMarkNotified() {
+        CalendarEvent event = event(LocalDateTime.now().minusMinutes(1));
+        scheduler.schedule(event);
+        runTransactionCallbacks();
+        when(eventRepository.findClaimableForUpdate(eq(List.of(event.getId())), any(), eq(1)))
+                .thenReturn(List.of(event.getId()));
+        CalendarEventRepository.ReminderView reminder = reminder(event);
+        when(eventRepository.findRemindersByIdIn(List.of(event.getId()))).thenReturn(List.of(reminder));
+
+        scheduler.sendEventReminders();
+
+        verify(eventRepository).leaseReminders(eq(List.of(event.getId())), any());
+        verify(mailService).sendEmail(eq("user@test.com"), eq("ApplyFollow Reminder: Interview"), anyString());
+        verify(eventRepository).markNotified(List.of(event.getId()));
+        verify(eventRepository, never()).saveAll(any());
+        assertEquals(0, scheduler.queuedAlarms());
+        assertEquals(1, meterRegistry.timer("reminders.lag").count());
+    }
+
     @Test
-    void sendEventReminders_WhenNoAlarmsExist_ShouldNotQueryDatabase() {
-        // hasPendingAlarms is false by default in mock testing unless init() is
-        // triggered
+    void sendEventReminders_WhenUserHasMoreAlarmsInDigestWindow_ShouldSendOneDigest() {
+        ReflectionTestUtils.setField(scheduler, "digestWindowMillis", 1800000L);
+        CalendarEvent due = event(LocalDateTime.now().minusMinutes(1));
+        CalendarEvent upcoming = event(LocalDateTime.now().plusMinutes(20));
+        upcoming.setUser(due.getUser());
+        scheduler.schedule(due);
+        scheduler.schedule(upcoming);
+        runTransactionCallbacks();
+        when(eventRepository.findClaimableForUpdate(any(), any(), anyInt())).thenReturn(List.of(due.getId()));
+        when(eventRepository.findDigestCandidatesForUpdate(eq(List.of(due.getId())), any(), any(), any()))
+                .thenReturn(List.of(upcoming.getId()));
+        CalendarEventRepository.ReminderView first = reminder(due);
+        when(first.getReminderDigest()).thenReturn(true);
+        CalendarEventRepository.ReminderView second = reminder(upcoming);
+        when(eventRepository.findRemindersByIdIn(List.of(due.getId(), upcoming.getId())))
+                .thenReturn(List.of(second, first));
 
         scheduler.sendEventReminders();
 
-        // Verify findEventsToNotify is never called
-        verify(eventRepository, never()).findEventsToNotify(any(), any(), any());
+        verify(mailService).sendEmail(eq("user@test.com"), eq("ApplyFollow Reminder: 2 upcoming events"), anyString());
+        verify(eventRepository).leaseReminders(eq(List.of(due.getId(), upcoming.getId())), any());
+        verify(eventRepository).markNotified(any());
+        assertEquals(0, scheduler.queuedAlarms()); // öne çekilen alarm kuyruktan da çıkar
     }
 
     @Test
-    void sendEventReminders_WhenTriggered_ShouldQueryDatabase() {
-        // Trigger the smart polling bayrağını kaldır
-        scheduler.triggerCheck();
+    void sendEventReminders_WhenUserOptedOutOfDigest_ShouldSendSeparateEmails() {
+        CalendarEvent first = event(LocalDateTime.now().minusMinutes(2));
+        CalendarEvent second = event(LocalDateTime.now().minusMinutes(1));
+        second.setUser(first.getUser());
+        scheduler.schedule(first);
+        scheduler.schedule(second);
+        runTransactionCallbacks();
+        List<UUID> ids = List.of(first.getId(), second.getId());
+        when(eventRepository.findClaimableForUpdate(any(), any(), anyInt())).thenReturn(ids);
+        CalendarEventRepository.ReminderView firstReminder = reminder(first);
+        when(firstReminder.getReminderDigest()).thenReturn(false);
+        CalendarEventRepository.ReminderView secondReminder = reminder(second);
+        when(eventRepository.findRemindersByIdIn(ids)).thenReturn(List.of(firstReminder, secondReminder));
 
-        when(eventRepository.findEventsToNotify(any(), any(), any())).thenReturn(List.of());
+        scheduler.sendEventReminders();
+
+        verify(mailService, times(2)).sendEmail(eq("user@test.com"), eq("ApplyFollow Reminder: Interview"), anyString());
+        assertEquals(2.0, meterRegistry.counter("reminders.emails", "type", "single").count());
+    }
+
+    @Test
+    void sendEventReminders_WithBacklog_ShouldProcessInBatchSizedChunks() {
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        for (int i = 0; i < 5; i++) {
+            scheduler.schedule(event(LocalDateTime.now().minusHours(2).plusMinutes(i)));
+        }
+        runTransactionCallbacks();
+        when(eventRepository.findClaimableForUpdate(any(), any(), anyInt())).thenReturn(List.of());
 
         scheduler.sendEventReminders();
 
-        // Verify findEventsToNotify IS called this time
-        verify(eventRepository).findEventsToNotify(any(), any(), any());
+        verify(eventRepository, times(2)).findClaimableForUpdate(any(), any(), eq(2));
+        verify(eventRepository).findClaimableForUpdate(any(), any(), eq(1));
+        assertEquals(0, scheduler.queuedAlarms());
     }
 
     @Test
-    void init_ShouldSetInitialStateBasedOnDatabase() {
-        when(eventRepository.existsByHasAlarmTrueAndNotifiedFalse()).thenReturn(true);
+    void sendEventReminders_WhenClaimedByAnotherInstance_ShouldSkip() {
+        CalendarEvent event = event(LocalDateTime.now().minusMinutes(1));
+        scheduler.schedule(event);
+        runTransactionCallbacks();
+        when(eventRepository.findClaimableForUpdate(any(), any(), anyInt())).thenReturn(List.of());
+
+        scheduler.sendEventReminders();
+
+        verify(eventRepository, never()).leaseReminders(any(), any());
+        verify(eventRepository, never()).findRemindersByIdIn(any());
+        verifyNoInteractions(mailService);
+    }
+
+    @Test
+    void cancel_ShouldRemoveAlarmFromQueue() {
+        CalendarEvent event = event(LocalDateTime.now().minusMinutes(1));
+        scheduler.schedule(event);
+
+        scheduler.cancel(event.getId());
+        scheduler.sendEventReminders();
+
+        verifyNoInteractions(eventRepository, mailService);
+    }
+
+    @Test
+    void init_ShouldLoadAlarmsInsideHorizon() {
+        CalendarEventRepository.AlarmSlot slot = mock(CalendarEventRepository.AlarmSlot.class);
+        when(slot.getId()).thenReturn(UUID.randomUUID());
+        when(slot.getDate()).thenReturn(LocalDate.now().minusDays(1));
+        when(slot.getAlarmTime()).thenReturn(null);
+        when(eventRepository.findPendingAlarmsAfter(any(), any(), any(), anyInt())).thenReturn(List.of(slot));
 
         scheduler.init();
 
-        // After init(true), it should query DB
+        assertEquals(1, scheduler.queuedAlarms());
+    }
+
+    @Test
+    void refill_WithBacklog_ShouldReadNextPageOnlyBelowLowWaterKeepingCursor() {
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        ReflectionTestUtils.setField(scheduler, "lowWaterMark", 2);
+        CalendarEventRepository.AlarmSlot first = slot(new UUID(0, 1));
+        CalendarEventRepository.AlarmSlot second = slot(new UUID(0, 2));
+        CalendarEventRepository.AlarmSlot third = slot(new UUID(0, 3));
+        when(eventRepository.findPendingAlarmsAfter(any(), eq(new UUID(0, 0)), any(), anyInt()))
+                .thenReturn(List.of(first, second));
+        when(eventRepository.findPendingAlarmsAfter(any(), eq(new UUID(0, 2)), any(), anyInt()))
+                .thenReturn(List.of(third));
+
+        scheduler.init();
+
+        assertEquals(2, scheduler.queuedAlarms()); // low-water'a ulaşıldı, ikinci sayfa okunmadı
+        verify(eventRepository, times(1)).findPendingAlarmsAfter(any(), any(), any(), anyInt());
+
+        runTransactionCallbacks();
+        when(eventRepository.findClaimableForUpdate(any(), any(), anyInt())).thenReturn(List.of());
         scheduler.sendEventReminders();
-        verify(eventRepository).findEventsToNotify(any(), any(), any());
+
+        verify(eventRepository).findPendingAlarmsAfter(any(), eq(new UUID(0, 2)), any(), anyInt());
+        verify(eventRepository, times(2)).findClaimableForUpdate(any(), any(), anyInt());
+        assertEquals(0, scheduler.queuedAlarms());
+    }
+
+    @Test
+    void refill_WhenQueueAboveLowWaterWithLaterAlarms_ShouldStillLoadDueAlarm() {
+        ReflectionTestUtils.setField(scheduler, "lowWaterMark", 3);
+        for (int i = 1; i <= 4; i++) {
+            scheduler.schedule(event(LocalDateTime.now().plusHours(i)));
+        }
+        UUID dueId = new UUID(Long.MAX_VALUE, Long.MAX_VALUE); // id sırasında en sonda
+        CalendarEventRepository.AlarmSlot due = slot(dueId);
+        when(eventRepository.findPendingAlarmsAfter(any(), eq(new UUID(0, 0)), any(), anyInt()))
+                .thenReturn(List.of(due));
+
+        scheduler.refill();
+
+        assertEquals(5, scheduler.queuedAlarms());
+
+        runTransactionCallbacks();
+        when(eventRepository.findClaimableForUpdate(any(), any(), anyInt())).thenReturn(List.of());
+        scheduler.sendEventReminders();
+
+        verify(eventRepository).findClaimableForUpdate(eq(List.of(dueId)), any(), eq(1));
+    }
+
+    @Test
+    void refill_ShouldStartNewScanWithFreshWindowEachTime() {
+        ReflectionTestUtils.setField(scheduler, "batchSize", 1);
+        ReflectionTestUtils.setField(scheduler, "lowWaterMark", 1);
+        CalendarEventRepository.AlarmSlot first = slot(new UUID(0, 1));
+        when(eventRepository.findPendingAlarmsAfter(any(), eq(new UUID(0, 0)), any(), anyInt()))
+                .thenReturn(List.of(first));
+
+        scheduler.refill(); // tarama low-water'da durur, imleç bekler
+        scheduler.refill();
+
+        verify(eventRepository, times(2)).findPendingAlarmsAfter(any(), eq(new UUID(0, 0)), any(), anyInt());
+    }
+
+    @Test
+    void schedule_WhenQueueFull_ShouldKeepEarliestAlarms() {
+        ReflectionTestUtils.setField(scheduler, "queueCapacity", 2);
+        when(eventRepository.findPendingAlarmsAfter(any(), any(), any(), anyInt())).thenReturn(List.of());
+        scheduler.init();
+
+        scheduler.schedule(event(LocalDateTime.now().plusHours(3)));
+        scheduler.schedule(event(LocalDateTime.now().plusHours(2)));
+        scheduler.schedule(event(LocalDateTime.now().plusHours(4)));
+        scheduler.schedule(event(LocalDateTime.now().plusHours(1)));
+
+        assertEquals(2, scheduler.queuedAlarms());
+        assertEquals(2.0, meterRegistry.get("reminders.queue.dropped").functionCounter().count());
+    }
+
+    @Test
+    void schedule_WhenAlarmBeyondHorizon_ShouldLeaveItForRefill() {
+        scheduler.schedule(event(LocalDateTime.now().plusDays(2)));
+
+        assertEquals(0, scheduler.queuedAlarms());
+    }
+
+    private CalendarEventRepository.AlarmSlot slot(UUID id) {
+        CalendarEventRepository.AlarmSlot slot = mock(CalendarEventRepository.AlarmSlot.class);
+        when(slot.getId()).thenReturn(id);
+        when(slot.getDate()).thenReturn(LocalDate.now().minusDays(1));
+        when(slot.getAlarmTime()).thenReturn(LocalTime.NOON);
+        return slot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    private CalendarEventRepository.ReminderView reminder(CalendarEvent event) {
+        CalendarEventRepository.ReminderView reminder = mock(CalendarEventRepository.ReminderView.class,
+                withSettings().strictness(Strictness.LENIENT));
+        when(reminder.getId()).thenReturn(event.getId());
+        when(reminder.getTitle()).thenReturn(event.getTitle());
+        when(reminder.getDate()).thenReturn(event.getDate());
+        when(reminder.getTime()).thenReturn(event.getTime());
+        when(reminder.getAlarmTime()).thenReturn(event.getAlarmTime());
+        when(reminder.getUserId()).thenReturn(event.getUser().getId());
+        when(reminder.getEmail()).thenReturn(event.getUser().getEmail());
+        when(reminder.getFullName()).thenReturn(event.getUser().getFullName());
+        return reminder;
+    }
+
+    private CalendarEvent event(LocalDateTime alarmAt) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(UUID.randomUUID());
+        event.setTitle("Interview");
+        event.setDate(alarmAt.toLocalDate());
+        event.setTime(LocalTime.NOON);
+        event.setHasAlarm(true);
+        event.setAlarmTime(alarmAt.toLocalTime());
+        event.setUser(User.builder().id(UUID.randomUUID()).email("user@test.com").fullName("Test User").build());
+        return event;
     }
 }
@@ -0,0 +1,85 @@
+package com.applyfollow.backend.security.oauth2;
+
+import com.applyfollow.backend.model.AuthProvider;
+import com.applyfollow.backend.model.Role;
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomOAuth2UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CustomOAuth2UserService customOAuth2UserService;
+
+    @Test
+    void processOAuth2User_WhenNothingChanged_ShouldNotWrite() {
+        User existing = existingUser("Test User", "google-123");
+        when(userRepository.findByEmail("test@gmail.com")).thenReturn(Optional.of(existing));
+
+        OAuth2User result = customOAuth2UserService.processOAuth2User(userRequest(),
+                oAuth2User("google-123", "Test User"));
+
+        verify(userRepository, never()).save(any());
+        assertSame(existing, ((UserPrincipal) result).getUser());
+    }
+
+    @Test
+    void processOAuth2User_WhenNameChanged_ShouldSave() {
+        User existing = existingUser("Old Name", "google-123");
+        when(userRepository.findByEmail("test@gmail.com")).thenReturn(Optional.of(existing));
+        when(userRepository.save(existing)).thenReturn(existing);
+
+        customOAuth2UserService.processOAuth2User(userRequest(), oAuth2User("google-123", "New Name"));
+
+        verify(userRepository).save(existing);
+        assertEquals("New Name", existing.getFullName());
+    }
+
+    private User existingUser(String fullName, String providerId) {
+        return User.builder().id(UUID.randomUUID()).email("test@gmail.com").fullName(fullName)
+                .provider(AuthProvider.GOOGLE).providerId(providerId).role(Role.USER).active(true).build();
+    }
+
+    private OAuth2User oAuth2User(String sub, String name) {
+        return new DefaultOAuth2User(List.of(new SimpleGrantedAuthority("OAUTH2_USER")),
+                Map.of("sub", sub, "name", name, "email", "test@gmail.com"), "sub");
+    }
+
+    private OAuth2UserRequest userRequest() {
+        ClientRegistration registration = ClientRegistration.withRegistrationId("google")
+                .clientId("client")
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .redirectUri("{baseUrl}/api/login/oauth2/code/{registrationId}")
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .tokenUri("https://oauth2.googleapis.com/token")
+                .build();
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token",
+                Instant.now(), Instant.now().plusSeconds(60));
+        return new OAuth2UserRequest(registration, accessToken);
+    }
+}
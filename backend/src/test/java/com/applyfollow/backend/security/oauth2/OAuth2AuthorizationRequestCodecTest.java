@@ -0,0 +1,121 @@
+package com.applyfollow.backend.security.oauth2;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.util.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OAuth2AuthorizationRequestCodecTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final OAuth2AuthorizationRequestCodec codec =
+            new OAuth2AuthorizationRequestCodec("test-secret", 300000);
+
+    @Test
+    void roundTrip_ShouldPreserveCallbackFields() {
+        OAuth2AuthorizationRequest original = googleRequest();
+
+        OAuth2AuthorizationRequest decoded = codec.decode(codec.encode(original, NOW), NOW + 1000);
+
+        assertNotNull(decoded);
+        assertEquals(original.getAuthorizationUri(), decoded.getAuthorizationUri());
+        assertEquals(original.getClientId(), decoded.getClientId());
+        assertEquals(original.getRedirectUri(), decoded.getRedirectUri());
+        assertEquals(original.getState(), decoded.getState());
+        assertEquals(original.getScopes(), decoded.getScopes());
+        assertEquals(original.getAdditionalParameters(), decoded.getAdditionalParameters());
+        assertEquals(original.getAttributes(), decoded.getAttributes());
+        assertEquals(original.getAuthorizationRequestUri(), decoded.getAuthorizationRequestUri());
+    }
+
+    @Test
+    void decode_WhenTamperedOrSignedWithOtherKey_ShouldReturnNull() {
+        String encoded = codec.encode(googleRequest(), NOW);
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        bytes[12] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertNull(codec.decode(tampered, NOW));
+        assertNull(new OAuth2AuthorizationRequestCodec("other-secret", 300000).decode(encoded, NOW));
+        assertNull(codec.decode("not-a-cookie", NOW));
+    }
+
+    @Test
+    void decode_WhenExpired_ShouldReturnNull() {
+        String encoded = codec.encode(googleRequest(), NOW);
+
+        assertNull(codec.decode(encoded, NOW + 300001));
+    }
+
+    @Test
+    void encode_ShouldBeMuchSmallerThanJavaSerialization() {
+        OAuth2AuthorizationRequest request = googleRequest();
+
+        String compact = codec.encode(request, NOW);
+        String java = Base64.getUrlEncoder().withoutPadding().encodeToString(SerializationUtils.serialize(request));
+
+        assertTrue(compact.length() * 2 < java.length());
+    }
+
+    /**
+     * Callback'te cookie çözme süresini eski Java serileştirmesiyle karşılaştırır.
+     * Çalıştırmak için: mvn test -Dtest=OAuth2AuthorizationRequestCodecTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_DecodeVersusJavaSerialization() throws Exception {
+        OAuth2AuthorizationRequest request = googleRequest();
+        String compact = codec.encode(request, NOW);
+        String java = Base64.getUrlEncoder().withoutPadding().encodeToString(SerializationUtils.serialize(request));
+        int iterations = Integer.getInteger("benchmark.iterations", 5000);
+
+        for (int i = 0; i < iterations; i++) { // warm-up
+            codec.decode(compact, NOW);
+            javaDecode(java);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            codec.decode(compact, NOW);
+        }
+        long compactNanos = (System.nanoTime() - start) / iterations;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            javaDecode(java);
+        }
+        long javaNanos = (System.nanoTime() - start) / iterations;
+
+        System.out.printf("OAuth2 cookie: compact=%d chars, %d ns/decode | java=%d chars, %d ns/decode%n",
+                compact.length(), compactNanos, java.length(), javaNanos);
+        // Süre ortam bağımlı olduğu için sadece çözmenin doğru sonuç verdiği doğrulanır
+        assertEquals(request.getState(), codec.decode(compact, NOW).getState());
+    }
+
+    private static Object javaDecode(String cookie) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cookie)))) {
+            return in.readObject();
+        }
+    }
+
+    private OAuth2AuthorizationRequest googleRequest() {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.google.com/o/oauth2/v2/auth")
+                .clientId("1234567890-abcdefghijklmnop.apps.googleusercontent.com")
+                .redirectUri("https://applyfollow.com/api/login/oauth2/code/google")
+                .state("q3Z8v0bW1kQm3p6yXh2LrT9cN4sF7dJ0aE5gU8iO1zY=")
+                .scopes(Set.of("openid", "profile", "email"))
+                .additionalParameters(Map.of("nonce", "kJ3n9fD2sL0qW8eR5tY7uI1oP4aS6dF9gH2jK5lZ8xC"))
+                .attributes(Map.of("registration_id", "google",
+                        "nonce", "3f9a2b7c1d8e4f6a0b5c9d2e7f1a4b8c3d6e0f9a2b5c8d1e4f7a0b3c6d9e2f5a"))
+                .build();
+    }
+}
@@ -1,13 +1,16 @@
 package com.applyfollow.backend.service;
 
+import com.applyfollow.backend.dto.ApplicationFilter;
+import com.applyfollow.backend.dto.ApplicationPageResponse;
 import com.applyfollow.backend.dto.ApplicationRequest;
 import com.applyfollow.backend.dto.ApplicationResponse;
+import com.applyfollow.backend.dto.CompanyResponse;
 import com.applyfollow.backend.dto.ContactDto;
+import com.applyfollow.backend.exception.BadRequestException;
 import com.applyfollow.backend.exception.ResourceNotFoundException;
 import com.applyfollow.backend.model.*;
 import com.applyfollow.backend.repository.ApplicationRepository;
 import com.applyfollow.backend.repository.ContactRepository;
-import com.applyfollow.backend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,7 +25,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,14 +38,13 @@ class ApplicationServiceTest {
     private ContactRepository contactRepository;
     @Mock
     private CompanyService companyService;
-    @Mock
-    private UserRepository userRepository;
 
     @InjectMocks
     private ApplicationService applicationService;
 
     private User user;
     private Company company;
+    private CompanyResponse companyResponse;
     private Application application;
 
     @BeforeEach
@@ -50,6 +53,7 @@ class ApplicationServiceTest {
         company = new Company();
         company.setId(UUID.randomUUID());
         company.setName("Test Company");
+        companyResponse = new CompanyResponse(company.getId(), company.getName(), null, null, null, null);
 
         application = new Application();
         application.setId(UUID.randomUUID());
@@ -63,7 +67,8 @@ class ApplicationServiceTest {
     @Test
     void getAllApplications_ShouldReturnList() {
         // Corrected findAllByUserId
-        when(applicationRepository.findAllByUserId(user.getId())).thenReturn(List.of(application));
+        ApplicationResponse response = toResponse(application);
+        when(applicationRepository.findAllByUserId(user.getId())).thenReturn(List.of(response));
 
         List<ApplicationResponse> result = applicationService.getAllApplications(user.getId());
 
@@ -74,7 +79,8 @@ class ApplicationServiceTest {
 
     @Test
     void getApplicationById_WhenExists_ShouldReturnApplication() {
-        when(applicationRepository.findByIdAndUserId(application.getId(), user.getId())).thenReturn(Optional.of(application));
+        ApplicationResponse response = toResponse(application);
+        when(applicationRepository.findResponseByIdAndUserId(application.getId(), user.getId())).thenReturn(Optional.of(response));
 
         ApplicationResponse result = applicationService.getApplicationById(application.getId(), user.getId());
 
@@ -85,7 +91,7 @@ class ApplicationServiceTest {
     @Test
     void getApplicationById_WhenNotExists_ShouldThrowException() {
         UUID randomId = UUID.randomUUID();
-        when(applicationRepository.findByIdAndUserId(randomId, user.getId())).thenReturn(Optional.empty());
+        when(applicationRepository.findResponseByIdAndUserId(randomId, user.getId())).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class,
                 () -> applicationService.getApplicationById(randomId, user.getId()));
@@ -95,37 +101,69 @@ class ApplicationServiceTest {
     void createApplication_ShouldCreateAndReturn() {
         ApplicationRequest request = new ApplicationRequest("Test Company", "Dev", ApplicationStatus.APPLIED,
                 "http://url", "Notes", null);
+        ApplicationRepository.CreatedRow row = createdRow(application.getId(), company.getId());
 
-        // Mock Duplicate Check returns Empty (No duplicate)
-        when(applicationRepository.findByUserIdAndCompany_NameAndPosition(any(), anyString(), anyString()))
-                .thenReturn(Optional.empty());
-
-        when(companyService.findOrCreateCompany(anyString())).thenReturn(company);
-        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
-        when(applicationRepository.save(any(Application.class))).thenReturn(application);
+        when(companyService.resolveCompany("Test Company")).thenReturn(companyResponse);
+        when(applicationRepository.insertOrFindExisting(any(), any(), eq(user.getId()), eq(company.getId()),
+                eq("Dev"), eq("APPLIED"), eq("http://url"), eq("Notes"), any(), isNull()))
+                .thenReturn(Optional.of(row));
 
-        ApplicationResponse result = applicationService.createApplication(request, user.getId());
+        ApplicationService.Creation creation = applicationService.createApplication(request, user.getId(), null);
+        ApplicationResponse result = creation.application();
 
+        assertTrue(creation.created());
         assertNotNull(result);
+        assertEquals(application.getId(), result.id());
         assertEquals("Test Company", result.company().name());
-        verify(applicationRepository).save(any(Application.class));
+        verify(applicationRepository, never()).save(any(Application.class));
     }
 
     @Test
-    void createApplication_WhenDuplicate_ShouldReturnExisting() {
+    void createApplication_WhenConcurrentInsertNotVisible_ShouldRetryOnce() {
         ApplicationRequest request = new ApplicationRequest("Test Company", "Dev", ApplicationStatus.APPLIED,
-                "http://url", "Notes", null);
+                null, null, null);
+        ApplicationRepository.CreatedRow row = createdRow(application.getId(), company.getId());
 
-        // Mock Duplicate Check returns Existing Application
-        when(applicationRepository.findByUserIdAndCompany_NameAndPosition(user.getId(), "Test Company", "Dev"))
-                .thenReturn(Optional.of(application));
+        when(companyService.resolveCompany("Test Company")).thenReturn(companyResponse);
+        when(applicationRepository.insertOrFindExisting(any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                eq("key-1")))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(row));
 
-        ApplicationResponse result = applicationService.createApplication(request, user.getId());
+        ApplicationResponse result = applicationService.createApplication(request, user.getId(), "key-1").application();
 
-        assertNotNull(result);
         assertEquals(application.getId(), result.id());
-        // Verify save is NOT called
-        verify(applicationRepository, never()).save(any(Application.class));
+        verify(applicationRepository, times(2)).insertOrFindExisting(any(), any(), any(), any(), any(), any(), any(),
+                any(), any(), eq("key-1"));
+    }
+
+    @Test
+    void createApplication_WhenKeyBelongsToOtherCompany_ShouldReturnStoredApplication() {
+        ApplicationRequest request = new ApplicationRequest("Test Company", "Dev", ApplicationStatus.APPLIED,
+                null, null, null);
+        ApplicationRepository.CreatedRow row = createdRow(application.getId(), UUID.randomUUID(), false);
+        ApplicationResponse stored = toResponse(application);
+
+        when(companyService.resolveCompany("Test Company")).thenReturn(companyResponse);
+        when(applicationRepository.insertOrFindExisting(any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                eq("key-2"))).thenReturn(Optional.of(row));
+        when(applicationRepository.findResponseByIdAndUserId(application.getId(), user.getId()))
+                .thenReturn(Optional.of(stored));
+
+        ApplicationService.Creation creation = applicationService.createApplication(request, user.getId(), "key-2");
+
+        assertSame(stored, creation.application());
+        assertFalse(creation.created());
+    }
+
+    @Test
+    void createApplication_WithBlankIdempotencyKey_ShouldThrowBadRequest() {
+        ApplicationRequest request = new ApplicationRequest("Test Company", "Dev", ApplicationStatus.APPLIED,
+                null, null, null);
+
+        assertThrows(BadRequestException.class,
+                () -> applicationService.createApplication(request, user.getId(), " "));
+        verifyNoInteractions(companyService, applicationRepository);
     }
 
     @Test
@@ -162,4 +200,76 @@ class ApplicationServiceTest {
         assertEquals("John Doe", result.name());
         verify(contactRepository).save(any(Contact.class));
     }
+
+    @Test
+    void getApplicationsPage_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        ApplicationFilter filter = new ApplicationFilter(ApplicationStatus.APPLIED, null, null, null, null);
+        Application second = new Application();
+        second.setId(UUID.randomUUID());
+        second.setCompany(company);
+        second.setAppliedAt(application.getAppliedAt().minusDays(1));
+        ApplicationResponse firstRow = toResponse(application);
+        ApplicationResponse secondRow = toResponse(second);
+        when(applicationRepository.findPage(user.getId(), filter, null, null, 2))
+                .thenReturn(List.of(firstRow, secondRow));
+
+        ApplicationPageResponse first = applicationService.getApplicationsPage(user.getId(), filter, null, 1);
+
+        assertEquals(1, first.items().size());
+        assertEquals(application.getId(), first.items().get(0).id());
+        assertNotNull(first.nextCursor());
+
+        when(applicationRepository.findPage(user.getId(), filter, application.getAppliedAt(), application.getId(), 2))
+                .thenReturn(List.of(secondRow));
+
+        ApplicationPageResponse next = applicationService.getApplicationsPage(user.getId(), filter, first.nextCursor(), 1);
+
+        assertEquals(second.getId(), next.items().get(0).id());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void getApplicationsPage_ShouldClampLimit() {
+        ApplicationFilter filter = new ApplicationFilter(null, null, null, null, null);
+        when(applicationRepository.findPage(eq(user.getId()), eq(filter), isNull(), isNull(), eq(101)))
+                .thenReturn(List.of());
+
+        ApplicationPageResponse page = applicationService.getApplicationsPage(user.getId(), filter, null, 5000);
+
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getApplicationsPage_WithInvalidCursor_ShouldThrowBadRequest() {
+        ApplicationFilter filter = new ApplicationFilter(null, null, null, null, null);
+
+        assertThrows(BadRequestException.class,
+                () -> applicationService.getApplicationsPage(user.getId(), filter, "not-a-cursor", 10));
+        verifyNoInteractions(applicationRepository);
+    }
+
+    private static ApplicationResponse toResponse(Application app) {
+        Company c = app.getCompany();
+        return new ApplicationResponse(app.getId(), app.getPosition(), app.getStatus(), app.getJobUrl(),
+                app.getNotes(), app.getAppliedAt(), c.getId(), c.getName(), c.getWebsite(), c.getLinkedinUrl(),
+                c.getLogoUrl(), c.getCreatedAt());
+    }
+
+    private ApplicationRepository.CreatedRow createdRow(UUID id, UUID companyId) {
+        return createdRow(id, companyId, true);
+    }
+
+    private ApplicationRepository.CreatedRow createdRow(UUID id, UUID companyId, boolean created) {
+        return new ApplicationRepository.CreatedRow() {
+            public UUID getId() { return id; }
+            public UUID getCompanyId() { return companyId; }
+            public String getPosition() { return "Dev"; }
+            public String getStatus() { return "APPLIED"; }
+            public String getJobUrl() { return null; }
+            public String getNotes() { return null; }
+            public LocalDateTime getAppliedAt() { return application.getAppliedAt(); }
+            public Boolean getCreated() { return created; }
+        };
+    }
 }
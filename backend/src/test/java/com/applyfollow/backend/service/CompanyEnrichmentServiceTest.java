@@ -0,0 +1,121 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.repository.CompanyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyEnrichmentServiceTest {
+
+    @Mock
+    private ObjectProvider<CompanyEnrichmentProvider> providers;
+    @Mock
+    private CompanyEnrichmentProvider provider;
+    @Mock
+    private CompanyRepository companyRepository;
+    @Mock
+    private CompanyNameCache companyNameCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompanyResponse acme;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(providers.orderedStream()).thenAnswer(invocation -> Stream.of(provider));
+        acme = company("Acme");
+    }
+
+    @Test
+    void enrich_WhenFound_ShouldUpdateCompanyAndEvictCache() {
+        CompanyEnrichmentService service = service(1, 10);
+        CompanyEnrichmentProvider.Result result = new CompanyEnrichmentProvider.Result(
+                "https://acme.example", " ", "https://acme.example/logo.png");
+        when(provider.lookup("Acme")).thenReturn(Optional.of(result));
+
+        service.enrich(acme);
+
+        verify(companyRepository).updateEnrichment(eq(acme.id()), eq("https://acme.example"), eq(null),
+                eq("https://acme.example/logo.png"), any());
+        verify(companyNameCache).evictCompany(acme.id());
+        assertEquals(1.0, meterRegistry.counter("companies.enrichment", "result", "enriched").count());
+    }
+
+    @Test
+    void enrich_WhenNotFound_ShouldNotAskAgainWithinTtl() {
+        CompanyEnrichmentService service = service(1, 10);
+        when(provider.lookup("Acme")).thenReturn(Optional.empty());
+
+        service.enrich(acme);
+        service.enqueue(acme);
+
+        verify(provider, times(1)).lookup("Acme");
+        verifyNoInteractions(companyRepository, companyNameCache);
+        assertEquals(1.0, meterRegistry.counter("companies.enrichment", "result", "cached-not-found").count());
+    }
+
+    @Test
+    void enqueue_ShouldDeduplicateInFlightAndDropWhenQueueIsFull() throws InterruptedException {
+        CompanyEnrichmentService service = service(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        when(provider.lookup(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            finished.countDown();
+            return Optional.empty();
+        });
+
+        service.enqueue(acme);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        service.enqueue(acme);             // aynı şirket zaten işleniyor
+        service.enqueue(company("Globex")); // kuyruğa girer
+        service.enqueue(company("Initech")); // kuyruk dolu
+        release.countDown();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        verify(provider, times(1)).lookup("Acme");
+        verify(provider, never()).lookup("Initech");
+        assertEquals(1.0, meterRegistry.counter("companies.enrichment", "result", "deduplicated").count());
+        assertEquals(1.0, meterRegistry.counter("companies.enrichment", "result", "dropped").count());
+        service.shutdown();
+    }
+
+    @Test
+    void enqueue_WhenCompanyAlreadyHasDetails_ShouldSkip() {
+        CompanyEnrichmentService service = service(1, 10);
+
+        service.enqueue(new CompanyResponse(UUID.randomUUID(), "Acme", null, null, "https://logo", null));
+
+        assertEquals(0, service.getQueueDepth());
+        verify(provider, never()).lookup(any());
+    }
+
+    private CompanyEnrichmentService service(int threads, int queueCapacity) {
+        return new CompanyEnrichmentService(providers, companyRepository, companyNameCache, meterRegistry, true,
+                threads, queueCapacity, 60000, 100);
+    }
+
+    private static CompanyResponse company(String name) {
+        return new CompanyResponse(UUID.randomUUID(), name, null, null, null, null);
+    }
+}
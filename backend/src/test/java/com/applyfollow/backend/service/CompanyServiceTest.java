@@ -0,0 +1,212 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.config.ClusterSignalBus;
+import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.dto.CompanySuggestion;
+import com.applyfollow.backend.repository.CompanyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyServiceTest {
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private ClusterSignalBus signalBus;
+
+    @Mock
+    private CompanySuggestIndex suggestIndex;
+
+    @Mock
+    private CompanyEnrichmentService enrichmentService;
+
+    private CompanyNameCache cache;
+    private CompanyService companyService;
+    private UUID companyId;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CompanyNameCache(companyRepository, signalBus, new SimpleMeterRegistry(), 100, 60000, 10);
+        companyService = new CompanyService(companyRepository, cache, suggestIndex, enrichmentService,
+                new SimpleMeterRegistry());
+        companyId = UUID.randomUUID();
+    }
+
+    @Test
+    void resolveCompany_ShouldHitDatabaseOnceForSameNormalizedName() {
+        CompanyRepository.CompanyRow row = row(companyId, "Acme");
+        when(companyRepository.findOrInsertByNormalizedName(any(), any(), eq("Acme"))).thenReturn(Optional.of(row));
+
+        CompanyResponse first = companyService.resolveCompany("  Acme ");
+        CompanyResponse second = companyService.resolveCompany("ACME");
+
+        assertEquals(companyId, first.id());
+        assertSame(first, second);
+        verify(companyRepository, times(1)).findOrInsertByNormalizedName(any(), any(), any());
+        verify(suggestIndex).add(first);
+        verify(enrichmentService).enqueue(first);
+    }
+
+    @Test
+    void resolveCompany_ShouldLockNormalizedNameBeforeInsert() {
+        CompanyRepository.CompanyRow row = row(companyId, "Acme");
+        when(companyRepository.findOrInsertByNormalizedName(any(), any(), eq("Acme"))).thenReturn(Optional.of(row));
+
+        companyService.resolveCompany(" Acme ");
+
+        var inOrder = inOrder(companyRepository);
+        inOrder.verify(companyRepository).lockNormalizedName("Acme");
+        inOrder.verify(companyRepository).findOrInsertByNormalizedName(any(), any(), eq("Acme"));
+    }
+
+    @Test
+    void resolveCompany_WhenConcurrentInsertNotVisible_ShouldRetryOnce() {
+        CompanyRepository.CompanyRow row = row(companyId, "Acme");
+        when(companyRepository.findOrInsertByNormalizedName(any(), any(), eq("Acme")))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(row));
+
+        CompanyResponse company = companyService.resolveCompany("Acme");
+
+        assertEquals(companyId, company.id());
+        verify(companyRepository, times(2)).findOrInsertByNormalizedName(any(), any(), eq("Acme"));
+    }
+
+    @Test
+    void warm_ShouldLoadMostUsedCompanies() {
+        CompanyRepository.CompanyRow row = row(companyId, "Acme");
+        when(companyRepository.findMostUsed(10)).thenReturn(List.of(row));
+
+        cache.warm();
+
+        assertEquals(companyId, companyService.resolveCompany("acme").id());
+        verify(companyRepository, never()).findOrInsertByNormalizedName(any(), any(), any());
+    }
+
+    @Test
+    void remoteCompanyEvict_ShouldDropCompanyAndResyncShouldClearAll() {
+        ArgumentCaptor<ClusterSignalBus.Listener> listener = ArgumentCaptor.forClass(ClusterSignalBus.Listener.class);
+        verify(signalBus).subscribe(eq(ClusterSignalBus.COMPANY_ID_EVICT), listener.capture());
+        UUID otherId = UUID.randomUUID();
+        cache.put("Acme", new CompanyResponse(companyId, "Acme", null, null, null, null));
+        cache.put("Globex", new CompanyResponse(otherId, "Globex", null, null, null, null));
+
+        listener.getValue().onSignal(companyId.toString());
+
+        assertNull(cache.get("Acme"));
+        assertNotNull(cache.get("Globex"));
+
+        listener.getValue().onResync();
+
+        assertNull(cache.get("Globex"));
+        verify(signalBus, never()).publish(any(), any());
+    }
+
+    @Test
+    void evictCompany_ShouldDropAllNamesOfCompanyAndBroadcast() {
+        UUID otherId = UUID.randomUUID();
+        CompanyResponse google = new CompanyResponse(companyId, "Google", null, null, null, null);
+        cache.put("Google", google);
+        cache.put("Google LLC", google); // alias aynı şirkete çözülür
+        cache.put("Other", new CompanyResponse(otherId, "Other", null, null, null, null));
+
+        cache.evictCompany(companyId);
+
+        assertNull(cache.get("google"));
+        assertNull(cache.get("google llc"));
+        assertEquals(otherId, cache.get("Other").id());
+        verify(signalBus).publish(ClusterSignalBus.COMPANY_ID_EVICT, companyId.toString());
+    }
+
+    @Test
+    void evictCompany_WhenNameNowPointsToAnotherCompany_ShouldKeepIt() {
+        UUID mergedInto = UUID.randomUUID();
+        cache.put("Google LLC", new CompanyResponse(companyId, "Google LLC", null, null, null, null));
+        cache.put("Google LLC", new CompanyResponse(mergedInto, "Google", null, null, null, null));
+
+        cache.evictCompany(companyId);
+
+        assertEquals(mergedInto, cache.get("Google LLC").id());
+    }
+
+    @Test
+    void put_ShouldStayWithinMaxSize() {
+        CompanyNameCache small = new CompanyNameCache(companyRepository, signalBus, new SimpleMeterRegistry(), 2,
+                60000, 0);
+
+        small.put("A", new CompanyResponse(UUID.randomUUID(), "A", null, null, null, null));
+        small.put("B", new CompanyResponse(UUID.randomUUID(), "B", null, null, null, null));
+        small.put("C", new CompanyResponse(UUID.randomUUID(), "C", null, null, null, null));
+
+        assertEquals(2, small.size());
+        assertNull(small.get("A"));
+    }
+
+    @Test
+    void suggest_WhenIndexHasEnoughMatches_ShouldNotQueryDatabase() {
+        List<CompanySuggestion> fromIndex = List.of(new CompanySuggestion(companyId, "Acme", null, 3));
+        when(suggestIndex.isReady()).thenReturn(true);
+        when(suggestIndex.suggest("ac", 1)).thenReturn(fromIndex);
+
+        assertEquals(fromIndex, companyService.suggest("ac", 1));
+        verify(companyRepository, never()).findSuggestionsByPrefix(any(), anyInt());
+    }
+
+    @Test
+    void suggest_WhenIndexIncomplete_ShouldFallBackToDatabase() {
+        CompanyRepository.SuggestionRow row = suggestionRow(companyId, "Acme_Labs");
+        when(suggestIndex.isReady()).thenReturn(true);
+        when(suggestIndex.suggest("Acme_", 10)).thenReturn(List.of());
+        when(suggestIndex.isComplete()).thenReturn(false);
+        when(companyRepository.findSuggestionsByPrefix("acme\\_%", 10)).thenReturn(List.of(row));
+
+        List<CompanySuggestion> result = companyService.suggest("Acme_", null);
+
+        assertEquals(1, result.size());
+        assertEquals("Acme_Labs", result.get(0).name());
+    }
+
+    @Test
+    void suggest_WithBlankQuery_ShouldReturnEmpty() {
+        assertTrue(companyService.suggest(" ", 5).isEmpty());
+        verifyNoInteractions(suggestIndex);
+    }
+
+    private static CompanyRepository.SuggestionRow suggestionRow(UUID id, String name) {
+        return new CompanyRepository.SuggestionRow() {
+            public UUID getId() { return id; }
+            public String getName() { return name; }
+            public String getLogoUrl() { return null; }
+            public long getUsageCount() { return 1; }
+        };
+    }
+
+    private static CompanyRepository.CompanyRow row(UUID id, String name) {
+        return new CompanyRepository.CompanyRow() {
+            public UUID getId() { return id; }
+            public String getName() { return name; }
+            public String getWebsite() { return null; }
+            public String getLinkedinUrl() { return null; }
+            public String getLogoUrl() { return null; }
+            public LocalDateTime getCreatedAt() { return LocalDateTime.now(); }
+        };
+    }
+}
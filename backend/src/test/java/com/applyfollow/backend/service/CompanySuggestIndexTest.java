@@ -0,0 +1,105 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.config.ClusterSignalBus;
+import com.applyfollow.backend.dto.CompanyResponse;
+import com.applyfollow.backend.dto.CompanySuggestion;
+import com.applyfollow.backend.repository.CompanyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanySuggestIndexTest {
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private ClusterSignalBus signalBus;
+
+    @Test
+    void suggest_ShouldMatchPrefixAndRankByUsage() {
+        CompanySuggestIndex index = load(100, row("Google", 5), row("Goldman Sachs", 9), row("good Co", 1),
+                row("Amazon", 50));
+
+        List<CompanySuggestion> result = index.suggest(" GO", 10);
+
+        assertEquals(List.of("Goldman Sachs", "Google", "good Co"), result.stream().map(CompanySuggestion::name).toList());
+        assertTrue(index.isComplete());
+    }
+
+    @Test
+    void suggest_ShouldReturnAtMostLimit() {
+        List<CompanyRepository.SuggestionRow> rows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rows.add(row("Company " + i, i));
+        }
+        CompanySuggestIndex index = load(100, rows.toArray(CompanyRepository.SuggestionRow[]::new));
+
+        List<CompanySuggestion> result = index.suggest("company", 3);
+
+        assertEquals(List.of(49L, 48L, 47L), result.stream().map(CompanySuggestion::usageCount).toList());
+    }
+
+    @Test
+    void add_ShouldMakeNewCompanySuggestableAndBroadcast() {
+        CompanySuggestIndex index = load(100);
+        UUID id = UUID.randomUUID();
+
+        index.add(new CompanyResponse(id, "New Startup", null, null, null, null));
+        index.add(new CompanyResponse(id, "New Startup", null, null, null, null));
+
+        assertEquals(id, index.suggest("new", 5).get(0).id());
+        verify(signalBus, times(1)).publish(ClusterSignalBus.COMPANY_CREATED, id + " New Startup");
+    }
+
+    @Test
+    void refresh_WhenRowsReachMaxEntries_ShouldMarkIncomplete() {
+        CompanySuggestIndex index = load(2, row("A", 2), row("B", 1));
+
+        assertTrue(index.isReady());
+        assertFalse(index.isComplete());
+    }
+
+    @Test
+    void refresh_WhenIndexIncomplete_ShouldDropNewCompaniesOutsideSnapshot() {
+        CompanySuggestIndex index = load(2, row("A", 2), row("B", 1));
+        index.add(new CompanyResponse(UUID.randomUUID(), "Zero Usage", null, null, null, null));
+        assertEquals(3, index.size());
+
+        index.refresh(); // yeni şirket kullanımsız, max-entries dışında kalır; arama veritabanına düşer
+
+        assertEquals(2, index.size());
+        assertTrue(index.suggest("zero", 5).isEmpty());
+    }
+
+    private CompanySuggestIndex load(int maxEntries, CompanyRepository.SuggestionRow... rows) {
+        when(companyRepository.findSuggestionRows(maxEntries)).thenReturn(List.of(rows));
+        CompanySuggestIndex index = new CompanySuggestIndex(companyRepository, signalBus, new SimpleMeterRegistry(),
+                maxEntries);
+        index.init();
+        verify(signalBus).subscribe(eq(ClusterSignalBus.COMPANY_CREATED), any());
+        return index;
+    }
+
+    private static CompanyRepository.SuggestionRow row(String name, long usage) {
+        UUID id = UUID.randomUUID();
+        return new CompanyRepository.SuggestionRow() {
+            public UUID getId() { return id; }
+            public String getName() { return name; }
+            public String getLogoUrl() { return null; }
+            public long getUsageCount() { return usage; }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.model.EmailFormat;
+import com.applyfollow.backend.model.EmailOutbox;
+import com.applyfollow.backend.model.EmailOutboxStatus;
+import com.applyfollow.backend.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmailOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new EmailOutboxService(outboxRepository, meterRegistry, 3, 1000, 60000, 120000);
+    }
+
+    @Test
+    void enqueue_ShouldSaveAndRaisePendingHint() {
+        outboxService.takePendingHint();
+
+        outboxService.enqueue("user@test.com", "Subject", "Body", EmailFormat.TEXT);
+
+        verify(outboxRepository).save(any(EmailOutbox.class));
+        assertTrue(outboxService.takePendingHint());
+        assertFalse(outboxService.takePendingHint());
+    }
+
+    @Test
+    void markFailed_ShouldBackOffExponentiallyThenDeadLetter() {
+        EmailOutbox message = new EmailOutbox("user@test.com", "Subject", "Body", EmailFormat.HTML,
+                LocalDateTime.now());
+
+        outboxService.markFailed(message, "timeout");
+        assertEquals(1, message.getAttempts());
+        assertEquals(EmailOutboxStatus.PENDING, message.getStatus());
+        assertTrue(message.getNextAttemptAt().isAfter(LocalDateTime.now().plusNanos(900_000_000)));
+
+        outboxService.markFailed(message, "timeout");
+        outboxService.markFailed(message, "timeout");
+
+        assertEquals(EmailOutboxStatus.DEAD, message.getStatus());
+        assertEquals("timeout", message.getLastError());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.dispatched", "result", "dead").count());
+        assertEquals(2.0, meterRegistry.counter("email.outbox.dispatched", "result", "retry").count());
+    }
+
+    @Test
+    void backoffMillis_ShouldBeCapped() {
+        long delay = outboxService.backoffMillis(30);
+
+        assertTrue(delay >= 60000 && delay <= 72000);
+    }
+}
@@ -0,0 +1,43 @@
+package com.applyfollow.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileCompanyEnrichmentProviderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void lookup_ShouldMatchNormalizedNames() throws Exception {
+        Path file = tempDir.resolve("companies.json");
+        Files.writeString(file, """
+                {
+                  "Google": {"website": "https://google.com", "logoUrl": "https://google.com/logo.png"},
+                  "Empty Co": {}
+                }
+                """);
+        FileCompanyEnrichmentProvider provider = new FileCompanyEnrichmentProvider(new ObjectMapper(), file.toString());
+
+        CompanyEnrichmentProvider.Result result = provider.lookup("google LLC").orElseThrow();
+
+        assertEquals("https://google.com", result.website());
+        assertNull(result.linkedinUrl());
+        assertTrue(provider.lookup("Empty").isEmpty());
+        assertTrue(provider.lookup("Unknown").isEmpty());
+    }
+
+    @Test
+    void lookup_WhenFileMissing_ShouldReturnEmpty() {
+        FileCompanyEnrichmentProvider provider = new FileCompanyEnrichmentProvider(new ObjectMapper(),
+                tempDir.resolve("missing.json").toString());
+
+        assertTrue(provider.lookup("Google").isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.exception.InvalidTokenException;
+import com.applyfollow.backend.model.OAuth2LoginCode;
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.OAuth2LoginCodeRepository;
+import com.applyfollow.backend.util.TokenHashUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OAuth2LoginCodeServiceTest {
+
+    @Mock
+    private OAuth2LoginCodeRepository loginCodeRepository;
+
+    private OAuth2LoginCodeService loginCodeService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        loginCodeService = new OAuth2LoginCodeService(loginCodeRepository);
+        ReflectionTestUtils.setField(loginCodeService, "codeTtl", 60000L);
+        user = User.builder().id(UUID.randomUUID()).email("oauth@test.com").active(true).build();
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyHash() {
+        String raw = loginCodeService.issue(user);
+
+        ArgumentCaptor<OAuth2LoginCode> captor = ArgumentCaptor.forClass(OAuth2LoginCode.class);
+        verify(loginCodeRepository).save(captor.capture());
+        assertEquals(TokenHashUtils.sha256(raw), captor.getValue().getCodeHash());
+        assertTrue(captor.getValue().getExpiryDate().isBefore(LocalDateTime.now().plusMinutes(2)));
+    }
+
+    @Test
+    void consume_ShouldReturnUserOnlyOnce() {
+        OAuth2LoginCode code = stored("raw-code", LocalDateTime.now().plusMinutes(1));
+        when(loginCodeRepository.findByCodeHashWithUser(TokenHashUtils.sha256("raw-code")))
+                .thenReturn(Optional.of(code));
+        when(loginCodeRepository.consume(code.getId())).thenReturn(1, 0);
+
+        assertSame(user, loginCodeService.consume("raw-code"));
+        assertThrows(InvalidTokenException.class, () -> loginCodeService.consume("raw-code"));
+    }
+
+    @Test
+    void consume_WhenExpired_ShouldReject() {
+        OAuth2LoginCode code = stored("old-code", LocalDateTime.now().minusSeconds(1));
+        when(loginCodeRepository.findByCodeHashWithUser(TokenHashUtils.sha256("old-code")))
+                .thenReturn(Optional.of(code));
+        when(loginCodeRepository.consume(code.getId())).thenReturn(1);
+
+        assertThrows(InvalidTokenException.class, () -> loginCodeService.consume("old-code"));
+    }
+
+    private OAuth2LoginCode stored(String raw, LocalDateTime expiry) {
+        OAuth2LoginCode code = new OAuth2LoginCode(TokenHashUtils.sha256(raw), user, expiry);
+        code.setId(UUID.randomUUID());
+        return code;
+    }
+}
@@ -0,0 +1,97 @@
+package com.applyfollow.backend.service;
+
+import com.applyfollow.backend.exception.InvalidTokenException;
+import com.applyfollow.backend.model.RefreshToken;
+import com.applyfollow.backend.model.User;
+import com.applyfollow.backend.repository.RefreshTokenRepository;
+import com.applyfollow.backend.util.TokenHashUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, meterRegistry);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 60000L);
+        user = User.builder().id(UUID.randomUUID()).email("test@test.com").active(true).build();
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyHash() {
+        String raw = refreshTokenService.issue(user);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotEquals(raw, captor.getValue().getTokenHash());
+        assertEquals(TokenHashUtils.sha256(raw), captor.getValue().getTokenHash());
+    }
+
+    @Test
+    void rotate_WhenValid_ShouldIssueNewTokenInSameFamily() {
+        UUID familyId = UUID.randomUUID();
+        RefreshToken stored = stored("raw-token", familyId);
+        when(refreshTokenRepository.findByTokenHashWithUser(TokenHashUtils.sha256("raw-token")))
+                .thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(stored.getId())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token");
+
+        assertSame(user, rotation.user());
+        assertNotEquals("raw-token", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(familyId, captor.getValue().getFamilyId());
+    }
+
+    @Test
+    void rotate_WhenTokenAlreadyUsed_ShouldRevokeWholeFamily() {
+        UUID familyId = UUID.randomUUID();
+        RefreshToken stored = stored("stolen-token", familyId);
+        stored.setRevoked(true);
+        when(refreshTokenRepository.findByTokenHashWithUser(TokenHashUtils.sha256("stolen-token")))
+                .thenReturn(Optional.of(stored));
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate("stolen-token"));
+
+        verify(refreshTokenRepository).revokeFamily(familyId);
+        verify(refreshTokenRepository, never()).save(any());
+        assertEquals(1.0, meterRegistry.counter("auth.refresh_token.reuse").count());
+    }
+
+    @Test
+    void rotate_WhenUnknownToken_ShouldThrow() {
+        when(refreshTokenRepository.findByTokenHashWithUser(any())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate("unknown"));
+    }
+
+    private RefreshToken stored(String raw, UUID familyId) {
+        RefreshToken token = new RefreshToken(TokenHashUtils.sha256(raw), user, familyId,
+                LocalDateTime.now().plusMinutes(5));
+        token.setId(UUID.randomUUID());
+        return token;
+    }
+}
@@ -1,8 +1,12 @@
 package com.applyfollow.backend.service;
 
 import com.applyfollow.backend.config.JwtService;
+import com.applyfollow.backend.config.PrincipalCache;
+import com.applyfollow.backend.config.SecurityVersionRegistry;
 import com.applyfollow.backend.dto.AuthResponse;
+import com.applyfollow.backend.dto.ChangePasswordRequest;
 import com.applyfollow.backend.dto.LoginRequest;
+import com.applyfollow.backend.dto.NotificationPreferences;
 import com.applyfollow.backend.dto.RegisterRequest;
 import com.applyfollow.backend.exception.BadRequestException;
 import com.applyfollow.backend.model.Role;
@@ -35,6 +39,12 @@ class UserServiceTest {
     private JwtService jwtService;
     @Mock
     private AuthenticationManager authenticationManager;
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private SecurityVersionRegistry securityVersionRegistry;
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @InjectMocks
     private UserService userService;
@@ -79,4 +89,31 @@ class UserServiceTest {
         assertEquals("jwt-token", response.token());
         verify(authenticationManager).authenticate(any());
     }
+
+    @Test
+    void updateNotificationPreferences_ShouldPersistDigestOptOut() {
+        User user = User.builder().id(UUID.randomUUID()).email("test@test.com").build();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        NotificationPreferences result = userService.updateNotificationPreferences(user.getId(),
+                new NotificationPreferences(false));
+
+        assertFalse(result.reminderDigest());
+        assertFalse(user.isReminderDigest());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void changePassword_ShouldEvictCachedPrincipal() {
+        User user = User.builder().id(UUID.randomUUID()).email("test@test.com").passwordHash("old").build();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("current", "old")).thenReturn(true);
+        when(passwordEncoder.encode("new")).thenReturn("newHash");
+
+        userService.changePassword(user.getId(), new ChangePasswordRequest("current", "new"));
+
+        assertEquals("newHash", user.getPasswordHash());
+        verify(principalCache).evict("test@test.com");
+        verify(securityVersionRegistry).bump(user);
+    }
 }
@@ -0,0 +1,37 @@
+package com.applyfollow.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompanyNameNormalizerTest {
+
+    @Test
+    void normalize_ShouldStripLegalSuffixesAndPunctuation() {
+        assertEquals("google", CompanyNameNormalizer.normalize("Google"));
+        assertEquals("google", CompanyNameNormalizer.normalize("Google LLC"));
+        assertEquals("google", CompanyNameNormalizer.normalize("google, inc."));
+        assertEquals("acme", CompanyNameNormalizer.normalize("ACME Co. Ltd."));
+        assertEquals("johnson and johnson", CompanyNameNormalizer.normalize("Johnson & Johnson"));
+    }
+
+    @Test
+    void normalize_ShouldFoldUnicode() {
+        assertEquals("turk telekom", CompanyNameNormalizer.normalize("Türk Telekom A.Ş."));
+        assertEquals("istanbul yazilim", CompanyNameNormalizer.normalize("İstanbul Yazılım Ltd. Şti."));
+        assertEquals("societe generale", CompanyNameNormalizer.normalize("Société Générale SA"));
+    }
+
+    @Test
+    void normalize_WhenNameIsOnlySuffix_ShouldKeepIt() {
+        assertEquals("company", CompanyNameNormalizer.normalize("Company"));
+    }
+
+    @Test
+    void similarity_ShouldSeparateRelatedButDifferentCompanies() {
+        assertEquals(1.0, CompanyNameNormalizer.similarity("google", "google"));
+        assertTrue(CompanyNameNormalizer.similarity("microsoft", "microsfot") < 0.8);
+        assertTrue(CompanyNameNormalizer.similarity("google", "google cloud") < 0.8);
+        assertTrue(CompanyNameNormalizer.similarity("deutsche telekom", "deutsche telekomm") >= 0.8);
+    }
+}
@@ -0,0 +1,121 @@
+package com.applyfollow.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void randomUuid_ShouldBeVersion7WithRfcVariant() {
+        UUID id = UuidV7.randomUuid();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(Math.abs(System.currentTimeMillis() - millis) < 5000);
+    }
+
+    @Test
+    void generate_WithinSameMillisecond_ShouldStayOrdered() {
+        UuidV7 generator = new UuidV7();
+        long now = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) { // sayaç taşmasını da kapsar
+            ids.add(generator.generate(now, i * 0x9E3779B97F4A7C15L));
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0, "ids must be strictly increasing at " + i);
+        }
+    }
+
+    @Test
+    void generate_WhenClockGoesBack_ShouldStillIncrease() {
+        UuidV7 generator = new UuidV7();
+        long now = System.currentTimeMillis();
+        UUID first = generator.generate(now, 1L);
+        UUID second = generator.generate(now - 1000, 2L);
+
+        assertTrue(compareUnsigned(first, second) < 0);
+    }
+
+    /**
+     * Postgres'e v4 ve v7 anahtarlarla toplu insert yapıp süre ve PK index boyutunu karşılaştırır.
+     * Çalıştırmak için: mvn test -Dtest=UuidV7Test -Dbenchmark=true (SPRING_DATASOURCE_* ortam değişkenleri ile)
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_InsertThroughputV4VersusV7() throws Exception {
+        String url = System.getenv().getOrDefault("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/applyfollow");
+        String username = System.getenv().getOrDefault("SPRING_DATASOURCE_USERNAME", "postgres");
+        String password = System.getenv("SPRING_DATASOURCE_PASSWORD");
+        int rows = Integer.getInteger("benchmark.rows", 300000);
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            insertRows(connection, "bench_uuid_v4", rows, UUID::randomUUID); // warm-up
+            Result v4 = insertRows(connection, "bench_uuid_v4", rows, UUID::randomUUID);
+            Result v7 = insertRows(connection, "bench_uuid_v7", rows, UuidV7::randomUuid);
+
+            System.out.printf("UUID insert benchmark (%d rows): v4=%d rows/s, pk index %d kB | v7=%d rows/s, pk index %d kB%n",
+                    rows, v4.rowsPerSecond(), v4.indexBytes() / 1024, v7.rowsPerSecond(), v7.indexBytes() / 1024);
+            // Süre ortam bağımlı olduğu için sadece index boyutu doğrulanır
+            assertTrue(v7.indexBytes() < v4.indexBytes());
+        }
+    }
+
+    private Result insertRows(Connection connection, String table, int rows, Supplier<UUID> ids) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE UNLOGGED TABLE " + table + " (id uuid PRIMARY KEY, created_at timestamp NOT NULL)");
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, created_at) VALUES (?, now())")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        long indexBytes;
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+            result.next();
+            indexBytes = result.getLong(1);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + table);
+        }
+        return new Result(rows * 1_000_000_000L / elapsedNanos, indexBytes);
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int byMost = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return byMost != 0 ? byMost : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private record Result(long rowsPerSecond, long indexBytes) {
+    }
+}
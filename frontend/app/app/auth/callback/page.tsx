@@ -1,6 +1,6 @@
 "use client";
 
-import { useEffect, Suspense } from 'react';
+import { useEffect, useRef, Suspense } from 'react';
 import { useRouter, useSearchParams } from 'next/navigation';
 import { useAppDispatch } from '@/store/hooks';
 import { authService } from '@/services/authService';
@@ -12,8 +12,13 @@ function AuthCallbackContent() {
     const searchParams = useSearchParams();
     const dispatch = useAppDispatch();
 
+    // Kod tek kullanımlık: effect tekrar çalışsa da (StrictMode, URL temizliği) bir kez çevrilir
+    const exchanged = useRef(false);
+
     useEffect(() => {
-        const token = searchParams.get('token');
+        // URL temizlenince searchParams değişir; başlamış değişimi yarıda kesme
+        if (exchanged.current) return;
+        const code = searchParams.get('code');
         const error = searchParams.get('error');
 
         if (error) {
@@ -22,24 +27,26 @@ function AuthCallbackContent() {
             return;
         }
 
-        if (token) {
-            // Token'ı kaydet
-            authService.setToken(token);
+        if (code) {
+            exchanged.current = true;
+
+            // Kodu URL'den hemen temizle
+            window.history.replaceState({}, document.title, window.location.pathname);
 
-            // Kullanıcı bilgilerini çek ve Redux'a yükle
-            dispatch(fetchUser())
-                .unwrap()
+            // Tek kullanımlık kodu token çiftine çevir, sonra kullanıcı bilgilerini Redux'a yükle
+            authService.exchangeOAuth2Code(code)
+                .then(() => dispatch(fetchUser()).unwrap())
                 .then(() => {
                     toast.success("Giriş başarılı!");
                     router.push('/dashboard');
                 })
                 .catch((err) => {
-                    console.error("Kullanıcı bilgileri alınamadı:", err);
+                    console.error("Oturum açılamadı:", err);
                     toast.error("Oturum açılamadı.");
                     router.push('/login');
                 });
         } else {
-            console.error("Token bulunamadı");
+            console.error("Giriş kodu bulunamadı");
             router.push('/login');
         }
     }, [searchParams, router, dispatch]);
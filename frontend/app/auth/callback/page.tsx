@@ -1,6 +1,6 @@
 "use client";
 
-import { useEffect, Suspense } from 'react';
+import { useEffect, useRef, Suspense } from 'react';
 import { useRouter, useSearchParams } from 'next/navigation';
 import { useAppDispatch } from '@/store/hooks';
 import { setCredentials } from '@/store/features/auth/authSlice';
@@ -12,31 +12,36 @@ function CallbackContent() {
     const searchParams = useSearchParams();
     const dispatch = useAppDispatch();
 
+    // Kod tek kullanımlık: effect tekrar çalışsa da (StrictMode, URL temizliği) bir kez çevrilir
+    const exchanged = useRef(false);
+
     useEffect(() => {
-        const token = searchParams.get('token');
+        // URL temizlenince searchParams değişir; başlamış değişimi yarıda kesme
+        if (exchanged.current) return;
+        const code = searchParams.get('code');
 
-        if (token) {
-            // 1. Clean URL immediately to prevent token leakage
-            window.history.replaceState({}, document.title, window.location.pathname);
+        if (code) {
+            exchanged.current = true;
 
-            // 2. Persist token to allow API requests (Interceptor reads from localStorage)
-            authService.setToken(token);
+            // 1. Clean URL immediately
+            window.history.replaceState({}, document.title, window.location.pathname);
 
-            // 3. Try to fetch real user profile
-            authService.fetchUserProfile()
+            // 2. Exchange the one-time code for the token pair (stored in localStorage for the interceptor)
+            authService.exchangeOAuth2Code(code)
+                .then(() => authService.fetchUserProfile())
                 .then(user => {
-                    // Success: Update Redux with real user data (Token is already in localStorage via setToken)
+                    // Success: Update Redux with real user data
                     dispatch(setCredentials({ user }));
                     toast.success("Successfully logged in via OAuth!");
                     router.push('/dashboard');
                 })
                 .catch(err => {
-                    console.error("Critical: Failed to fetch real user profile after OAuth success", err);
+                    console.error("Critical: Failed to complete OAuth login", err);
                     toast.error("Profil bilgileriniz alınamadı. Lütfen tekrar deneyin.");
                     authService.logout(); // Clears storage and redirects to /login
                 });
         } else {
-            toast.error("Login failed. No token received.");
+            toast.error("Login failed. No login code received.");
             router.push('/login');
         }
     }, [searchParams, dispatch, router]);
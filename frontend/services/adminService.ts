@@ -40,6 +40,31 @@ export interface AdminUserDetailResponse {
     summary?: string;
 }
 
+export interface CompanyDedupDuplicate {
+    id: string;
+    name: string;
+    applications: number;
+    similarity: number;
+}
+
+export interface CompanyDedupGroup {
+    survivorId: string;
+    survivorName: string;
+    applications: number;
+    duplicates: CompanyDedupDuplicate[];
+}
+
+export interface CompanyDedupReport {
+    dryRun: boolean;
+    companiesScanned: number;
+    duplicateGroups: number;
+    companiesMerged: number;
+    applicationsRepointed: number;
+    skipped: number;
+    durationMillis: number;
+    groups: CompanyDedupGroup[];
+}
+
 export const adminService = {
     getUsers: async (page = 0, size = 10, email = '') => {
         const response = await api.get<PageResponse<UserAdminResponse>>(`/admin/users`, {
@@ -79,6 +104,14 @@ export const adminService = {
         await api.delete(`/admin/messages/${id}`);
     },
 
+    // dryRun=true sadece birleştirilecek grupları raporlar
+    deduplicateCompanies: async (dryRun = true) => {
+        const response = await api.post<CompanyDedupReport>(`/admin/companies/deduplicate`, null, {
+            params: { dryRun }
+        });
+        return response.data;
+    },
+
     // --- User Detail Endpoints ---
 
     getUserApplications: async (userId: string) => {
@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { InternalAxiosRequestConfig } from 'axios';
 
 const getBaseURL = () => {
     // 1. Environment variable (Always prefer this)
@@ -32,16 +32,68 @@ api.interceptors.request.use(
     }
 );
 
+// Aynı anda düşen 401'ler tek bir refresh isteğini paylaşır (rotation iki kez tüketilmesin).
+// Refresh token localStorage'da tüm sekmelerce paylaşıldığı için yenileme sekmeler arası bir kilitle
+// (Web Locks) yapılır; aksi halde iki sekme aynı token'ı sunar ve sunucu bunu reuse sayıp tüm oturumları kapatır.
+let refreshPromise: Promise<string> | null = null;
+
+const REFRESH_LOCK = 'applyfollow-token-refresh';
+
+const refreshAccessToken = (): Promise<string> => {
+    if (!refreshPromise) {
+        const staleRefreshToken = localStorage.getItem('refreshToken');
+
+        const doRefresh = async (): Promise<string> => {
+            const refreshToken = localStorage.getItem('refreshToken');
+            if (!refreshToken) {
+                throw new Error('No refresh token');
+            }
+            // Kilidi beklerken başka bir sekme yenilediyse onun token'ı kullanılır
+            const currentToken = localStorage.getItem('token');
+            if (refreshToken !== staleRefreshToken && currentToken) {
+                return currentToken;
+            }
+            const response = await axios.post(`${getBaseURL()}/auth/refresh`, { refreshToken });
+            localStorage.setItem('token', response.data.token);
+            localStorage.setItem('refreshToken', response.data.refreshToken);
+            return response.data.token as string;
+        };
+
+        refreshPromise = (typeof navigator !== 'undefined' && navigator.locks
+            ? navigator.locks.request(REFRESH_LOCK, doRefresh)
+            : doRefresh()
+        ).finally(() => {
+            refreshPromise = null;
+        });
+    }
+    return refreshPromise;
+};
+
 api.interceptors.response.use(
     (response) => response,
-    (error) => {
+    async (error) => {
+        const original = error.config as (InternalAxiosRequestConfig & { _retry?: boolean }) | undefined;
+
         // 1. Handle Token Expiration (401 Unauthorized)
         if (error.response && error.response.status === 401) {
+            // Kısa ömürlü access token süresi dolduysa parola sormadan yenile ve isteği tekrarla
+            if (typeof window !== 'undefined' && original && !original._retry && !original.url?.startsWith('/auth/')) {
+                original._retry = true;
+                try {
+                    const token = await refreshAccessToken();
+                    original.headers['Authorization'] = `Bearer ${token}`;
+                    return api(original);
+                } catch {
+                    // Refresh başarısız: aşağıdaki logout akışına düş
+                }
+            }
+
             // Check if we are already on the login page to avoid infinite loops
             if (typeof window !== 'undefined' && !window.location.pathname.startsWith('/login')) {
                 // Clear all auth data
                 localStorage.removeItem('user');
                 localStorage.removeItem('token');
+                localStorage.removeItem('refreshToken');
 
                 // Trigger a custom event for UI components to handle the redirect cleanly (SPA friendly)
                 window.dispatchEvent(new Event('auth:unauthorized'));
@@ -35,6 +35,21 @@ export interface ApplicationRequest {
 // Alias for Redux slice consistency
 export type CreateApplicationRequest = ApplicationRequest;
 
+export interface ApplicationPageParams {
+    limit: number;
+    cursor?: string;
+    status?: JobStatus;
+    companyId?: string;
+    from?: string; // YYYY-MM-DD
+    to?: string;   // YYYY-MM-DD
+    q?: string;
+}
+
+export interface ApplicationPageResponse {
+    items: ApplicationResponse[];
+    nextCursor: string | null;
+}
+
 export interface ContactDto {
     id?: string;
     name: string;
@@ -52,15 +67,23 @@ export const applicationService = {
         return response.data;
     },
 
+    // Cursor-based page with server-side filters; pass nextCursor to load the next page
+    getApplicationsPage: async (params: ApplicationPageParams): Promise<ApplicationPageResponse> => {
+        const response = await api.get<ApplicationPageResponse>('/applications', { params });
+        return response.data;
+    },
+
     // Get single application by ID
     getApplicationById: async (id: string): Promise<ApplicationResponse> => {
         const response = await api.get<ApplicationResponse>(`/applications/${id}`);
         return response.data;
     },
 
-    // Create new application
-    createApplication: async (data: ApplicationRequest): Promise<ApplicationResponse> => {
-        const response = await api.post<ApplicationResponse>('/applications', data);
+    // Create new application; retries with the same key return the already created record
+    createApplication: async (data: ApplicationRequest, idempotencyKey: string = crypto.randomUUID()): Promise<ApplicationResponse> => {
+        const response = await api.post<ApplicationResponse>('/applications', data, {
+            headers: { 'Idempotency-Key': idempotencyKey },
+        });
         return response.data;
     },
 
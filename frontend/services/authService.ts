@@ -30,6 +30,7 @@ export interface RegisterRequest {
 
 export interface AuthResponse {
     token?: string; // Make token optional in response
+    refreshToken?: string;
     id: string;
     email: string;
     fullName: string;
@@ -58,8 +59,8 @@ export const authService = {
     login: async (credentials: LoginRequest): Promise<AuthResponse> => {
         const response = await api.post<AuthResponse>(`${API_URL}/login`, credentials);
         if (response.data.id && response.data.token) {
-            localStorage.setItem('token', response.data.token);
-            const { token, ...userData } = response.data;
+            authService.setToken(response.data.token, response.data.refreshToken);
+            const { token, refreshToken, ...userData } = response.data;
             localStorage.setItem('user', JSON.stringify(userData));
         }
         return response.data;
@@ -68,16 +69,22 @@ export const authService = {
     register: async (data: RegisterRequest): Promise<AuthResponse> => {
         const response = await api.post<AuthResponse>(`${API_URL}/register`, data);
         if (response.data.id && response.data.token) {
-            localStorage.setItem('token', response.data.token);
-            const { token, ...userData } = response.data;
+            authService.setToken(response.data.token, response.data.refreshToken);
+            const { token, refreshToken, ...userData } = response.data;
             localStorage.setItem('user', JSON.stringify(userData));
         }
         return response.data;
     },
 
     logout: () => {
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (refreshToken) {
+            // Sunucudaki refresh token ailesini iptal et (sonucu beklemeye gerek yok)
+            api.post(`${API_URL}/logout`, { refreshToken }).catch(() => undefined);
+        }
         localStorage.removeItem('user');
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         window.location.href = '/login';
     },
 
@@ -114,6 +121,17 @@ export const authService = {
     },
 
     // OAuth2 Helpers
+    // Yönlendirmedeki tek kullanımlık kod POST ile token çiftine çevrilir (token'lar URL'de taşınmaz)
+    exchangeOAuth2Code: async (code: string): Promise<AuthResponse> => {
+        const response = await api.post<AuthResponse>(`${API_URL}/oauth2/token`, { code });
+        if (response.data.token) {
+            authService.setToken(response.data.token, response.data.refreshToken);
+            const { token, refreshToken, ...userData } = response.data;
+            localStorage.setItem('user', JSON.stringify(userData));
+        }
+        return response.data;
+    },
+
     fetchUserProfile: async (): Promise<User> => {
         const response = await api.get<AuthResponse>('/users/me');
         if (response.data) {
@@ -123,7 +141,10 @@ export const authService = {
         throw new Error('User profile could not be fetched');
     },
 
-    setToken: (token: string) => {
+    setToken: (token: string, refreshToken?: string | null) => {
         localStorage.setItem('token', token);
+        if (refreshToken) {
+            localStorage.setItem('refreshToken', refreshToken);
+        }
     }
 };
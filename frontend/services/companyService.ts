@@ -0,0 +1,17 @@
+import api from './api';
+
+export interface CompanySuggestion {
+    id: string;
+    name: string;
+    logoUrl?: string;
+    usageCount: number;
+}
+
+// API Methods
+export const companyService = {
+    // Autocomplete existing companies by name prefix, most used first
+    suggestCompanies: async (q: string, limit: number = 10): Promise<CompanySuggestion[]> => {
+        const response = await api.get<CompanySuggestion[]>('/companies/suggest', { params: { q, limit } });
+        return response.data;
+    },
+};
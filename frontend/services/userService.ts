@@ -18,6 +18,10 @@ export interface ChangePasswordRequest {
     newPassword?: string;
 }
 
+export interface NotificationPreferences {
+    reminderDigest: boolean;
+}
+
 export interface AuthResponse {
     token?: string;
     id: string;
@@ -47,4 +51,14 @@ export const userService = {
     changePassword: async (data: ChangePasswordRequest): Promise<void> => {
         await api.post(`${SECTION_URL}/change-password`, data);
     },
+
+    getNotificationPreferences: async (): Promise<NotificationPreferences> => {
+        const response = await api.get<NotificationPreferences>(`${SECTION_URL}/notification-preferences`);
+        return response.data;
+    },
+
+    updateNotificationPreferences: async (data: NotificationPreferences): Promise<NotificationPreferences> => {
+        const response = await api.put<NotificationPreferences>(`${SECTION_URL}/notification-preferences`, data);
+        return response.data;
+    },
 };
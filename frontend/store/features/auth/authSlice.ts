@@ -87,7 +87,7 @@ export const authSlice = createSlice({
         });
         builder.addCase(login.fulfilled, (state, action) => {
             // AuthResponse -> User dönüşümü (Token hariç)
-            const { token, message, ...userData } = action.payload;
+            const { token, refreshToken, message, ...userData } = action.payload;
             state.user = userData;
             state.isAuthenticated = true;
             state.isLoading = false;
@@ -103,7 +103,7 @@ export const authSlice = createSlice({
             state.error = null;
         });
         builder.addCase(register.fulfilled, (state, action) => {
-            const { token, message, ...userData } = action.payload;
+            const { token, refreshToken, message, ...userData } = action.payload;
             state.user = userData;
             state.isAuthenticated = true;
             state.isLoading = false;